@@ -0,0 +1,97 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+
+/**
+ * Benchmarks the {@link JumbleEngine} operations, on the real dictionary
+ * ({@code words.txt}) and on synthetic ones of about 1M and 10M words, see
+ * {@link SyntheticDictionary}. Run with the gc profiler for the allocation
+ * rate, see README.md.
+ *
+ * <p>The inputs are words of {@code words.txt}, which every dictionary
+ * contains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx12g" })
+public class JumbleEngineBenchmark {
+
+    private static final String WORD = "ranker";
+
+    private static final String PREFIX = "jum";
+
+    /**
+     * "words.txt" for the real dictionary, else the size of a synthetic one.
+     */
+    @Param({ "words.txt", "1000000", "10000000" })
+    private String dictionary;
+
+    private JumbleEngine engine;
+
+    @Setup
+    public void setUp() {
+        WordsRepository repository = "words.txt".equals(dictionary)
+                ? new WordsRepository()
+                : new WordsRepository(new SyntheticDictionary(Long.parseLong(dictionary)));
+        this.engine = new JumbleEngine(repository);
+    }
+
+    @Benchmark
+    public String scramble() {
+        return engine.scramble(WORD);
+    }
+
+    @Benchmark
+    public boolean exists() {
+        return engine.exists(WORD);
+    }
+
+    @Benchmark
+    public String pickOneRandomWord() {
+        return engine.pickOneRandomWord(6);
+    }
+
+    @Benchmark
+    public Collection<String> wordsMatchingPrefix() {
+        return engine.wordsMatchingPrefix(PREFIX);
+    }
+
+    @Benchmark
+    public Collection<String> searchWords() {
+        return engine.searchWords('r', 'r', 6);
+    }
+
+    @Benchmark
+    public Collection<String> generateSubWords() {
+        return engine.generateSubWords(WORD, 3);
+    }
+
+    @Benchmark
+    public Collection<String> retrievePalindromeWords() {
+        return engine.retrievePalindromeWords();
+    }
+
+    @Benchmark
+    public GameState createGameState() {
+        return engine.createGameState(6, 3);
+    }
+
+}
@@ -0,0 +1,111 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A dictionary of about `size` words, streamed one per line without being
+ * held in memory: the real {@code words.txt} first, so the benchmark inputs
+ * stay valid, then random words of 3 to 12 letters drawn at English letter
+ * frequencies, from a fixed seed. Random duplicates are merged on load, so
+ * the dictionary may end slightly smaller than `size`.
+ */
+class SyntheticDictionary extends Reader {
+
+    /*
+     * Relative frequencies (per 1000) of the letters 'a' to 'z' in English text.
+     */
+    private static final int[] FREQUENCIES = {
+            82, 15, 28, 43, 127, 22, 20, 61, 70, 2, 8, 40, 24, 67, 75, 19, 1, 60, 63, 91, 28, 10, 24, 2, 20, 1 };
+
+    private static final int MIN_LENGTH = 3;
+
+    private static final int MAX_LENGTH = 12;
+
+    private final Reader words;
+
+    private final long size;
+
+    private final Random random = new Random(42L);
+
+    private final int[] cumulative = new int[FREQUENCIES.length];
+
+    private final char[] line = new char[MAX_LENGTH + 1];
+
+    private int lineLength;
+
+    private int linePos;
+
+    private long lines;
+
+    private boolean wordsDone;
+
+    SyntheticDictionary(long size) {
+        InputStream is = SyntheticDictionary.class.getClassLoader().getResourceAsStream("words.txt");
+        this.words = new InputStreamReader(Objects.requireNonNull(is, "words.txt not found on classpath"),
+                StandardCharsets.UTF_8);
+        this.size = size;
+        int total = 0;
+        for (int letter = 0; letter < FREQUENCIES.length; letter += 1) {
+            total += FREQUENCIES[letter];
+            cumulative[letter] = total;
+        }
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (!wordsDone) {
+            int read = words.read(buffer, offset, length);
+            if (read >= 0) {
+                for (int ix = offset; ix < offset + read; ix += 1) {
+                    lines += buffer[ix] == '\n' ? 1 : 0;
+                }
+                return read;
+            }
+            wordsDone = true;
+            // words.txt may not end with a line break
+            buffer[offset] = '\n';
+            lines += 1;
+            return 1;
+        }
+        int count = 0;
+        while (count < length) {
+            if (linePos == lineLength) {
+                if (lines >= size) {
+                    break;
+                }
+                nextLine();
+            }
+            buffer[offset + count++] = line[linePos++];
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    private void nextLine() {
+        int wordLength = MIN_LENGTH + random.nextInt(MAX_LENGTH - MIN_LENGTH + 1);
+        int total = cumulative[cumulative.length - 1];
+        for (int ix = 0; ix < wordLength; ix += 1) {
+            int pick = random.nextInt(total);
+            int letter = 0;
+            while (cumulative[letter] <= pick) {
+                letter += 1;
+            }
+            line[ix] = (char) ('a' + letter);
+        }
+        line[wordLength] = '\n';
+        lineLength = wordLength + 1;
+        linePos = 0;
+        lines += 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        words.close();
+    }
+
+}
@@ -1,23 +1,103 @@
 package asia.fourtitude.interviewq.jumble;
 
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import java.io.PrintStream;
 import java.util.Scanner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
 
 @Configuration
 public class AppConfig {
 
-
+    /*
+     * The console beans are only created when a console is, which the web
+     * application never does.
+     */
     @Bean
+    @Lazy
     public Scanner scanner() {
         return new Scanner(System.in);
     }
 
     @Bean
+    @Lazy
     public PrintStream printStream() {
         return new PrintStream(System.out);
     }
 
+    /*
+     * The dictionary, from DictionaryPreloader when it was registered (see
+     * JumbleApplication), else loaded here.
+     */
+    @Bean
+    public WordsRepository wordsRepository(ObjectProvider<DictionaryPreloader> preloader) {
+        DictionaryPreloader loading = preloader.getIfAvailable();
+        return loading != null ? loading.get() : new WordsRepository();
+    }
+
+    /*
+     * Bulkhead for heavy engine operations, separated from the servlet worker
+     * pool. Bounded queue; excess submissions are rejected instead of queued.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService engineExecutor(
+            @Value("${jumble.engine.async.pool-size:4}") int poolSize,
+            @Value("${jumble.engine.async.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "jumble-engine-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /*
+     * The CPU work of the phrase anagram search, forked from a jumble-engine
+     * thread: its own bounded pool, not the common one shared by every
+     * parallel stream of the JVM.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool phraseAnagramPool(
+            @Value("${jumble.engine.phrase-anagram.parallelism:4}") int parallelism) {
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("jumble-phrase-anagram-" + thread.getPoolIndex());
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, null, false);
+    }
+
+    /*
+     * JIT warm-up before the application reports ready, see EngineWarmUp.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jumble.warmup.enabled", havingValue = "true")
+    public EngineWarmUp engineWarmUp(JumbleEngine jumbleEngine,
+            @Value("${jumble.warmup.rounds:2000}") int rounds,
+            @Value("${jumble.warmup.max-duration-ms:60000}") long maxDurationMs) {
+        // the target, not the proxy: warm-up calls are neither timed by the
+        // engine metrics nor recorded as slow operations
+        Object target = AopProxyUtils.getSingletonTarget(jumbleEngine);
+        return new EngineWarmUp(target instanceof JumbleEngine ? (JumbleEngine) target : jumbleEngine,
+                rounds, maxDurationMs);
+    }
+
 }
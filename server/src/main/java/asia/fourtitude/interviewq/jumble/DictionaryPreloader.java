@@ -0,0 +1,74 @@
+package asia.fourtitude.interviewq.jumble;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+
+/**
+ * Starts loading the dictionary (and building its indexes) on a background
+ * thread as soon as the application context is created, so the load runs
+ * in parallel with the context refresh; the {@link WordsRepository} bean
+ * then only waits for what is left of it.
+ *
+ * <p>Registered by {@link JumbleApplication#application()}; the context sees
+ * it as the singleton bean {@value #BEAN_NAME}.
+ */
+public class DictionaryPreloader implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    public static final String BEAN_NAME = "dictionaryPreloader";
+
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryPreloader.class);
+
+    private CompletableFuture<WordsRepository> loading;
+
+    private volatile long loadMillis = -1;
+
+    @Override
+    public void initialize(ConfigurableApplicationContext applicationContext) {
+        Thread thread = new Thread(this::load, "jumble-dictionary-preload");
+        thread.setDaemon(true);
+        this.loading = new CompletableFuture<>();
+        thread.start();
+        applicationContext.getBeanFactory().registerSingleton(BEAN_NAME, this);
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            WordsRepository wordsRepository = new WordsRepository();
+            loadMillis = (System.nanoTime() - start) / 1_000_000;
+            LOG.info("load: {} words in {} ms", wordsRepository.size(), loadMillis);
+            loading.complete(wordsRepository);
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Waits for the dictionary.
+     *
+     * @return  The loaded dictionary.
+     * @throws IllegalStateException  When loading failed.
+     */
+    public WordsRepository get() {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to preload dictionary", e.getCause());
+        }
+    }
+
+    /**
+     * @return  The time spent loading the dictionary, or -1 while loading.
+     */
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+}
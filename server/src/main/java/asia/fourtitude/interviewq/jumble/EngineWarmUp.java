@@ -0,0 +1,158 @@
+package asia.fourtitude.interviewq.jumble;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import asia.fourtitude.interviewq.jumble.core.Deadline;
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+/**
+ * Warms the JIT up before traffic is accepted: runs rounds of every
+ * {@link JumbleEngine} operation on random dictionary words, so the hot
+ * paths are compiled before the first requests rather than during them.
+ *
+ * <p>As an {@link ApplicationRunner} it runs after the web server started
+ * but before the application is ready: the readiness probe
+ * ({@code /actuator/health/readiness}) reports {@code OUT_OF_SERVICE}
+ * until the warm-up completed. Stops after `rounds`, or after `maxMillis`,
+ * whichever comes first.
+ */
+public class EngineWarmUp implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EngineWarmUp.class);
+
+    /*
+     * Bounds the searches which may take long on some words.
+     */
+    private static final long OPERATION_DEADLINE_MS = 100;
+
+    private static final int PAGE_LIMIT = 100;
+
+    private final JumbleEngine jumbleEngine;
+
+    private final int rounds;
+
+    private final long maxMillis;
+
+    /*
+     * One entry per engine operation, by method name; given a random word.
+     */
+    private final Map<String, Consumer<String>> operations = new LinkedHashMap<>();
+
+    private GameState gameState;
+
+    private volatile int completedRounds;
+
+    public EngineWarmUp(JumbleEngine jumbleEngine, int rounds, long maxMillis) {
+        if (rounds < 0) {
+            throw new IllegalArgumentException("Invalid rounds=[" + rounds + "], expect zero or positive integer");
+        }
+        this.jumbleEngine = jumbleEngine;
+        this.rounds = rounds;
+        this.maxMillis = maxMillis;
+        JumbleEngine engine = jumbleEngine;
+        operations.put("scramble", engine::scramble);
+        operations.put("exists", word -> {
+            engine.exists(word);
+            engine.exists(word + "q");
+        });
+        operations.put("pickOneRandomWord", word -> engine.pickOneRandomWord(word.length()));
+        operations.put("retrievePalindromeWords", word -> engine.retrievePalindromeWords(0, PAGE_LIMIT));
+        operations.put("fuzzyMatch", word -> engine.fuzzyMatch(word, 1));
+        // before suggestGuesses, which plays the game created
+        operations.put("createGameState", word -> this.gameState = engine.createGameState(6, 3));
+        operations.put("suggestGuesses", word -> engine.suggestGuesses(this.gameState, word));
+        operations.put("wordsMatchingPrefix", word -> engine.wordsMatchingPrefix(head(word, 3), 0, PAGE_LIMIT));
+        operations.put("topWordsMatchingPrefix", word -> engine.topWordsMatchingPrefix(head(word, 2), 10));
+        operations.put("wordsMatchingSuffix", word -> engine.wordsMatchingSuffix(tail(word, 3), 0, PAGE_LIMIT));
+        operations.put("wordsMatchingPrefixAndSuffix",
+                word -> engine.wordsMatchingPrefixAndSuffix(head(word, 1), tail(word, 2), 0, PAGE_LIMIT));
+        operations.put("wordsContaining", word -> engine.wordsContaining(tail(word, 3), 0, PAGE_LIMIT));
+        operations.put("anagramsOf", engine::anagramsOf);
+        operations.put("anagramFamilies", word -> engine.anagramFamilies(10));
+        operations.put("wordLadder", word -> engine.wordLadder(engine.pickOneRandomWord(4), engine.pickOneRandomWord(4)));
+        operations.put("phraseAnagrams", word -> engine.phraseAnagrams(head(word, 10), 3, 2, 10, newDeadline()));
+        operations.put("scoredSubWords", word -> engine.scoredSubWords(
+                head(word, 6) + "?", 3, JumbleEngine.defaultLetterValues(), 20));
+        operations.put("solveGrid", word -> engine.solveGrid(engine.generateGrid(4, 20, 3), 4, 3));
+        operations.put("generateGrid", word -> engine.generateGrid(4, 20, 3));
+        operations.put("createGridGameState", word -> engine.createGridGameState(4, 20, 3));
+        operations.put("wildcardSearch", word -> {
+            engine.wildcardSearch(masked(word), 0, PAGE_LIMIT);
+            engine.wildcardSearch(head(word, 2) + "*", 0, PAGE_LIMIT);
+        });
+        operations.put("constraintSearch",
+                word -> engine.constraintSearch(masked(word), tail(word, 1), "q", 0, PAGE_LIMIT));
+        operations.put("searchWords", word -> engine.searchWords(
+                word.charAt(0), word.charAt(word.length() - 1), word.length(), 0, PAGE_LIMIT, newDeadline()));
+        operations.put("generateSubWords", word -> engine.generateSubWords(word, 3, newDeadline()));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(maxMillis);
+        LOG.info("run: warming up {} operations, {} rounds", operations.size(), rounds);
+        while (completedRounds < rounds && System.nanoTime() - end < 0) {
+            String word = jumbleEngine.pickOneRandomWord(null);
+            for (Consumer<String> operation : operations.values()) {
+                operation.accept(word);
+            }
+            completedRounds += 1;
+        }
+        LOG.info("run: warmed up in {} ms, {} rounds", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                completedRounds);
+    }
+
+    /**
+     * @return  The names of the engine operations warmed up.
+     */
+    public Set<String> getOperations() {
+        return Collections.unmodifiableSet(operations.keySet());
+    }
+
+    /**
+     * @return  The number of rounds run so far.
+     */
+    public int getCompletedRounds() {
+        return completedRounds;
+    }
+
+    private static Deadline newDeadline() {
+        return Deadline.after(OPERATION_DEADLINE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static String head(String word, int length) {
+        return word.substring(0, Math.min(length, word.length()));
+    }
+
+    private static String tail(String word, int length) {
+        return word.substring(Math.max(0, word.length() - length));
+    }
+
+    /*
+     * The word with about half of its letters replaced by '?'.
+     */
+    private static String masked(String word) {
+        char[] chars = word.toCharArray();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int ix = 0; ix < chars.length; ix += 1) {
+            if (random.nextBoolean()) {
+                chars[ix] = '?';
+            }
+        }
+        return new String(chars);
+    }
+
+}
@@ -1,13 +1,42 @@
 package asia.fourtitude.interviewq.jumble;
 
+import java.util.Arrays;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import asia.fourtitude.interviewq.jumble.console.BatchApp;
 
 @SpringBootApplication
 public class JumbleApplication {
 
-    public static void main(String[] args) {
-        SpringApplication.run(JumbleApplication.class, args);
+    /*
+     * When true, exits once started: the training run of the class data
+     * sharing archive (see Dockerfile).
+     */
+    static final String TRAINING_RUN = "jumble.startup.training-run";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && BatchApp.COMMAND.equals(args[0])) {
+            // no application context, nor web server
+            BatchApp.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        ConfigurableApplicationContext context = application().run(args);
+        if (context.getEnvironment().getProperty(TRAINING_RUN, Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    /**
+     * @return  The application, loading the dictionary in parallel with the
+     *          context refresh.
+     */
+    static SpringApplication application() {
+        SpringApplication application = new SpringApplication(JumbleApplication.class);
+        application.addInitializers(new DictionaryPreloader());
+        return application;
     }
 
 }
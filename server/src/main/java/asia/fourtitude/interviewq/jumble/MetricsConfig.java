@@ -0,0 +1,54 @@
+package asia.fourtitude.interviewq.jumble;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+import asia.fourtitude.interviewq.jumble.metrics.EngineMetricsAspect;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
+import asia.fourtitude.interviewq.jumble.metrics.SlowOperationAspect;
+import asia.fourtitude.interviewq.jumble.metrics.SlowOperationLog;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+ * Micrometer instrumentation of the engine and the game, exported on
+ * /actuator/metrics; and the slow operation log, on /api/admin/slow-operations.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public EngineMetricsAspect engineMetricsAspect(MeterRegistry registry) {
+        return new EngineMetricsAspect(registry);
+    }
+
+    @Bean
+    public GameMetrics gameMetrics(MeterRegistry registry) {
+        return new GameMetrics(registry);
+    }
+
+    @Bean
+    public MeterBinder dictionaryMetrics(WordsRepository wordsRepository) {
+        return registry -> Gauge.builder("jumble.dictionary.size", wordsRepository, WordsRepository::size)
+                .description("The number of words in the dictionary")
+                .register(registry);
+    }
+
+    @Bean
+    public SlowOperationLog slowOperationLog(
+            @Value("${jumble.slow-log.threshold-ms:50}") long thresholdMs,
+            @Value("${jumble.slow-log.capacity:256}") int capacity) {
+        return new SlowOperationLog(thresholdMs, capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "jumble.slow-log.enabled", matchIfMissing = true)
+    public SlowOperationAspect slowOperationAspect(SlowOperationLog slowOperationLog) {
+        return new SlowOperationAspect(slowOperationLog);
+    }
+
+}
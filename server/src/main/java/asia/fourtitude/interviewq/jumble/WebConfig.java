@@ -1,14 +1,31 @@
 package asia.fourtitude.interviewq.jumble;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.ViewResolver;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 import org.thymeleaf.extras.java8time.dialect.Java8TimeDialect;
 import org.thymeleaf.spring5.ISpringTemplateEngine;
 import org.thymeleaf.spring5.SpringTemplateEngine;
@@ -17,6 +34,12 @@ import org.thymeleaf.spring5.view.ThymeleafViewResolver;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ITemplateResolver;
 
+import asia.fourtitude.interviewq.jumble.admission.AdmissionControl;
+import asia.fourtitude.interviewq.jumble.admission.AdmissionInterceptor;
+import asia.fourtitude.interviewq.jumble.admission.TokenBucketLimiter;
+import asia.fourtitude.interviewq.jumble.web.AssetManifest;
+import asia.fourtitude.interviewq.jumble.web.RenderedPageCacheFilter;
+import asia.fourtitude.interviewq.jumble.web.StaticAssetCacheInterceptor;
 import nz.net.ultraq.thymeleaf.layoutdialect.LayoutDialect;
 import nz.net.ultraq.thymeleaf.layoutdialect.decorators.strategies.GroupingStrategy;
 
@@ -24,19 +47,63 @@ import nz.net.ultraq.thymeleaf.layoutdialect.decorators.strategies.GroupingStrat
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
 
+    private static final List<String> STATIC_ASSET_PATTERNS = Arrays.asList(
+            "/css/**", "/lib/**", "/img/**", "/scss/**", "/**");
+
     private ApplicationContext applicationContext;
 
+    private ISpringTemplateEngine webTemplateEngine;
+
+    private AssetManifest assetManifest;
+
+    @Value("${spring.thymeleaf.cache:true}")
+    private boolean templateCache;
+
+    @Value("${jumble.web.page-cache.enabled:false}")
+    private boolean pageCacheEnabled;
+
+    @Value("${jumble.web.page-cache.paths:/game/help}")
+    private List<String> pageCachePaths;
+
+    @Value("${jumble.admission.enabled:true}")
+    private boolean admissionEnabled;
+
+    @Value("${jumble.admission.buckets:4096}")
+    private int admissionBuckets;
+
+    @Value("${jumble.admission.rate-per-second:5}")
+    private double admissionRatePerSecond;
+
+    @Value("${jumble.admission.burst:20}")
+    private int admissionBurst;
+
+    @Value("${jumble.admission.max-concurrent:16}")
+    private int admissionMaxConcurrent;
+
+    @Value("${jumble.admission.trust-forwarded-for:false}")
+    private boolean admissionTrustForwardedFor;
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
     }
 
-    public ISpringTemplateEngine templateEngine(ITemplateResolver templateResolver) {
+    /*
+     * One engine (and one LayoutDialect) shared by both view resolvers, each
+     * template resolver claiming its own view name pattern. Not exposed as
+     * bean, which would replace the auto-configured default engine.
+     */
+    private synchronized ISpringTemplateEngine webTemplateEngine() {
+        if (webTemplateEngine != null) {
+            return webTemplateEngine;
+        }
         SpringTemplateEngine engine = new SpringTemplateEngine();
         // engine.addDialect(new LayoutDialect());
         engine.addDialect(new LayoutDialect(new GroupingStrategy()));
         engine.addDialect(new Java8TimeDialect());
-        engine.setTemplateResolver(templateResolver);
+        engine.addTemplateResolver(htmlTemplateResolver());
+        engine.addTemplateResolver(javascriptTemplateResolver());
+        webTemplateEngine = engine;
         return engine;
     }
 
@@ -44,8 +111,10 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
         SpringResourceTemplateResolver resolver = new SpringResourceTemplateResolver();
         resolver.setApplicationContext(applicationContext);
         resolver.setPrefix("classpath:/templates/");
-        resolver.setCacheable(true);
+        resolver.setCacheable(templateCache);
         resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setResolvablePatterns(Collections.singleton("*.html"));
+        resolver.setOrder(1);
         return resolver;
     }
 
@@ -53,40 +122,116 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
         SpringResourceTemplateResolver resolver = new SpringResourceTemplateResolver();
         resolver.setApplicationContext(applicationContext);
         resolver.setPrefix("classpath:/static/js/");
-        resolver.setCacheable(true);
+        resolver.setCacheable(templateCache);
         resolver.setTemplateMode(TemplateMode.JAVASCRIPT);
+        resolver.setResolvablePatterns(Collections.singleton("*.js"));
+        resolver.setOrder(2);
         return resolver;
     }
 
     @Bean
     public ViewResolver htmlViewResolver() {
         ThymeleafViewResolver resolver = new ThymeleafViewResolver();
-        resolver.setTemplateEngine(templateEngine(htmlTemplateResolver()));
+        resolver.setTemplateEngine(webTemplateEngine());
         resolver.setContentType("text/html");
         resolver.setCharacterEncoding("UTF-8");
         resolver.setViewNames(new String[] { "*.html" });
+        resolver.setCache(templateCache);
         return resolver;
     }
 
     @Bean
     public ViewResolver javascriptViewResolver() {
         ThymeleafViewResolver resolver = new ThymeleafViewResolver();
-        resolver.setTemplateEngine(templateEngine(javascriptTemplateResolver()));
+        resolver.setTemplateEngine(webTemplateEngine());
         resolver.setContentType("application/javascript");
         resolver.setCharacterEncoding("UTF-8");
         resolver.setViewNames(new String[] { "*.js" });
+        resolver.setCache(templateCache);
         return resolver;
     }
 
+    @Bean
+    public FilterRegistrationBean<RenderedPageCacheFilter> renderedPageCacheFilter() {
+        FilterRegistrationBean<RenderedPageCacheFilter> registration = new FilterRegistrationBean<>(
+                new RenderedPageCacheFilter(pageCachePaths));
+        registration.setEnabled(pageCacheEnabled);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    @Bean
+    public AdmissionControl admissionControl() {
+        return new AdmissionControl(admissionEnabled,
+                new TokenBucketLimiter(admissionBuckets, admissionRatePerSecond, admissionBurst),
+                admissionMaxConcurrent);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // expensive endpoints, each doing a full dictionary scan
+        registry.addInterceptor(new AdmissionInterceptor(admissionControl(), admissionTrustForwardedFor))
+                .addPathPatterns("/api/game/new", "/api/game/grid/new", "/api/word/phrase-anagrams/**");
+        // the form is submitted by POST; GET only renders it
+        registry.addInterceptor(new AdmissionInterceptor(admissionControl(), admissionTrustForwardedFor, "POST"))
+                .addPathPatterns("/subWords");
+        registry.addInterceptor(new StaticAssetCacheInterceptor(assetManifest()));
+    }
+
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        // rewrites links to static assets, e.g. @{/css/style.css}, into fingerprinted URLs
+        return new ResourceUrlEncodingFilter();
+    }
+
+    /*
+     * Limits link rewriting to our own static assets. Other handlers (e.g.
+     * springdoc swagger-ui) are not meant for it, and fail on some links.
+     */
+    @Bean
+    public SmartInitializingSingleton staticAssetUrlProviderInitializer(ResourceUrlProvider mvcResourceUrlProvider) {
+        return () -> {
+            SimpleUrlHandlerMapping mapping = applicationContext.getBean("resourceHandlerMapping", SimpleUrlHandlerMapping.class);
+            Map<String, ResourceHttpRequestHandler> handlers = new LinkedHashMap<>();
+            for (Map.Entry<String, ?> entry : mapping.getHandlerMap().entrySet()) {
+                if (STATIC_ASSET_PATTERNS.contains(entry.getKey()) && entry.getValue() instanceof ResourceHttpRequestHandler) {
+                    handlers.put(entry.getKey(), (ResourceHttpRequestHandler) entry.getValue());
+                }
+            }
+            mvcResourceUrlProvider.setHandlerMap(handlers);
+        };
+    }
+
+    private synchronized AssetManifest assetManifest() {
+        if (assetManifest == null) {
+            assetManifest = new AssetManifest();
+        }
+        return assetManifest;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // https://stackoverflow.com/a/65269556
         // registry.addResourceHandler("/js/**").addResourceLocations("classpath:/static/js/");
-        registry.addResourceHandler("/css/**").addResourceLocations("classpath:/static/css/");
-        registry.addResourceHandler("/lib/**").addResourceLocations("classpath:/static/lib/");
-        registry.addResourceHandler("/img/**").addResourceLocations("classpath:/static/img/");
-        registry.addResourceHandler("/scss/**").addResourceLocations("classpath:/static/scss/");
-        registry.addResourceHandler("/**").addResourceLocations("classpath:/static/");
+        addResourceHandler(registry, STATIC_ASSET_PATTERNS.get(0), "classpath:/static/css/");
+        addResourceHandler(registry, STATIC_ASSET_PATTERNS.get(1), "classpath:/static/lib/");
+        addResourceHandler(registry, STATIC_ASSET_PATTERNS.get(2), "classpath:/static/img/");
+        addResourceHandler(registry, STATIC_ASSET_PATTERNS.get(3), "classpath:/static/scss/");
+        addResourceHandler(registry, STATIC_ASSET_PATTERNS.get(4), "classpath:/static/");
+    }
+
+    /*
+     * Serves the build-time precompressed "*.gz" sibling when the client
+     * accepts it, and resolves fingerprinted paths via the asset manifest.
+     * Cache headers are set by StaticAssetCacheInterceptor.
+     */
+    private void addResourceHandler(ResourceHandlerRegistry registry, String pathPattern, String location) {
+        registry.addResourceHandler(pathPattern)
+                .addResourceLocations(location)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addVersionStrategy(assetManifest(), "/**"))
+                .addTransformer(new CssLinkResourceTransformer());
     }
 
 }
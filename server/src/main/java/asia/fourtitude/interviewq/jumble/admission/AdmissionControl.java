@@ -0,0 +1,91 @@
+package asia.fourtitude.interviewq.jumble.admission;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process admission layer for the expensive endpoints.
+ *
+ * <p>A request is admitted when a slot is available in the global
+ * concurrency limit, and its client still has a token in
+ * {@link TokenBucketLimiter}. Admitted requests must be {@link #release() released}
+ * when they complete. Admissions and rejections are counted for monitoring.
+ */
+public class AdmissionControl {
+
+    public enum Decision {
+        ADMITTED,
+        REJECTED_RATE,
+        REJECTED_CONCURRENCY
+    }
+
+    private final boolean enabled;
+
+    private final TokenBucketLimiter limiter;
+
+    private final Semaphore concurrency;
+
+    private final int maxConcurrent;
+
+    private final LongAdder admitted = new LongAdder();
+
+    private final LongAdder rejectedRate = new LongAdder();
+
+    private final LongAdder rejectedConcurrency = new LongAdder();
+
+    public AdmissionControl(boolean enabled, TokenBucketLimiter limiter, int maxConcurrent) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Invalid maxConcurrent=[" + maxConcurrent + "], expect positive integer");
+        }
+        this.enabled = enabled;
+        this.limiter = limiter;
+        this.maxConcurrent = maxConcurrent;
+        this.concurrency = new Semaphore(maxConcurrent);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param clientKey  The key identifying the client.
+     * @return  The admission decision. Only when {@link Decision#ADMITTED},
+     *          the caller must invoke {@link #release()} after completion.
+     */
+    public Decision tryAdmit(String clientKey) {
+        // the slot first: a request shed for concurrency costs its client no token
+        if (!concurrency.tryAcquire()) {
+            rejectedConcurrency.increment();
+            return Decision.REJECTED_CONCURRENCY;
+        }
+        if (!limiter.tryAcquire(clientKey)) {
+            concurrency.release();
+            rejectedRate.increment();
+            return Decision.REJECTED_RATE;
+        }
+        admitted.increment();
+        return Decision.ADMITTED;
+    }
+
+    public void release() {
+        concurrency.release();
+    }
+
+    /**
+     * @return  The snapshot of admission counters.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("admitted", admitted.sum());
+        stats.put("rejected_rate", rejectedRate.sum());
+        stats.put("rejected_concurrency", rejectedConcurrency.sum());
+        stats.put("in_flight", maxConcurrent - concurrency.availablePermits());
+        stats.put("max_concurrent", maxConcurrent);
+        stats.put("buckets", limiter.getBucketCount());
+        return stats;
+    }
+
+}
@@ -0,0 +1,83 @@
+package asia.fourtitude.interviewq.jumble.admission;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies {@link AdmissionControl} to the handlers it is registered for,
+ * shedding excess load with HTTP 429 (Too Many Requests). When given HTTP
+ * methods, only requests of those methods are subject to admission, e.g.
+ * the POST submitting a form, and not the GET rendering it.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdmissionInterceptor.class);
+
+    private static final String ATTR_ADMITTED = AdmissionInterceptor.class.getName() + ".admitted";
+
+    private final AdmissionControl admissionControl;
+
+    private final boolean trustForwardedFor;
+
+    private final Set<String> methods;
+
+    /**
+     * @param admissionControl   The admission control to apply.
+     * @param trustForwardedFor  Whether the client is the first address of X-Forwarded-For.
+     * @param methods            The HTTP methods subject to admission, or none for all.
+     */
+    public AdmissionInterceptor(AdmissionControl admissionControl, boolean trustForwardedFor, String... methods) {
+        this.admissionControl = admissionControl;
+        this.trustForwardedFor = trustForwardedFor;
+        this.methods = new HashSet<>(Arrays.asList(methods));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!admissionControl.isEnabled()) {
+            return true;
+        }
+        if (!methods.isEmpty() && !methods.contains(request.getMethod())) {
+            return true;
+        }
+        String clientKey = clientKey(request);
+        AdmissionControl.Decision decision = admissionControl.tryAdmit(clientKey);
+        if (decision == AdmissionControl.Decision.ADMITTED) {
+            request.setAttribute(ATTR_ADMITTED, Boolean.TRUE);
+            return true;
+        }
+        LOG.debug("preHandle: {} client=[{}] uri=[{}]", decision, clientKey, request.getRequestURI());
+        response.setHeader("Retry-After", "1");
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ATTR_ADMITTED) != null) {
+            request.removeAttribute(ATTR_ADMITTED);
+            admissionControl.release();
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isEmpty()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+}
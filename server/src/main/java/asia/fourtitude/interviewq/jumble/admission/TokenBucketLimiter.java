@@ -0,0 +1,97 @@
+package asia.fourtitude.interviewq.jumble.admission;
+
+/**
+ * Per-client token buckets held in a fixed-size, striped table.
+ *
+ * <p>Client keys are hashed onto a preallocated array of buckets, so memory
+ * stays bounded no matter how many distinct clients are seen. Two clients
+ * colliding on the same bucket share its budget, which errs on the side of
+ * rejecting. Each bucket is guarded by its own monitor, so contention is
+ * limited to clients mapped to the same stripe.
+ */
+public class TokenBucketLimiter {
+
+    private final Bucket[] buckets;
+
+    private final int mask;
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    /**
+     * @param bucketCount    The number of buckets, rounded up to power of 2.
+     * @param ratePerSecond  The sustained rate of permits per second per client.
+     * @param burst          The bucket capacity, i.e. maximum burst per client.
+     */
+    public TokenBucketLimiter(int bucketCount, double ratePerSecond, int burst) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Invalid bucketCount=[" + bucketCount + "], expect positive integer");
+        }
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Invalid ratePerSecond=[" + ratePerSecond + "], expect positive number");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Invalid burst=[" + burst + "], expect positive integer");
+        }
+        int size = 1;
+        while (size < bucketCount) {
+            size <<= 1;
+        }
+        this.buckets = new Bucket[size];
+        this.mask = size - 1;
+        this.capacity = burst;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        long now = System.nanoTime();
+        for (int ix = 0; ix < size; ix += 1) {
+            this.buckets[ix] = new Bucket(capacity, now);
+        }
+    }
+
+    /**
+     * Takes one permit from the bucket of `clientKey`.
+     *
+     * @param clientKey  The key identifying the client.
+     * @return  true if permitted, false if the client exceeded its rate.
+     */
+    public boolean tryAcquire(String clientKey) {
+        return bucketOf(clientKey).tryAcquire(System.nanoTime(), capacity, tokensPerNano);
+    }
+
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    private Bucket bucketOf(String clientKey) {
+        int h = clientKey == null ? 0 : clientKey.hashCode();
+        h ^= (h >>> 16);
+        return buckets[h & mask];
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+
+        private long lastRefillNanos;
+
+        Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+
+        synchronized boolean tryAcquire(long nowNanos, double capacity, double tokensPerNano) {
+            long elapsed = nowNanos - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastRefillNanos = nowNanos;
+            }
+            if (tokens >= 1d) {
+                tokens -= 1d;
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+}
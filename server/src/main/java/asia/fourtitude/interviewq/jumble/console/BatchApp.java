@@ -0,0 +1,271 @@
+package asia.fourtitude.interviewq.jumble.console;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+
+/**
+ * Non-interactive batch mode: reads one operation per line, from a file or
+ * stdin, and writes one result line per operation, in input order. Runs
+ * without Spring (and without the web server):
+ *
+ * <pre>
+ * java -jar jumble.jar batch [--threads N] [FILE|-]
+ * </pre>
+ *
+ * <p>An operation is a name and its arguments, separated by whitespace:
+ * <ul>
+ * <li>{@code exists <word>}, {@code scramble <word>}, {@code anagram <letters>}</li>
+ * <li>{@code prefix <prefix>}, {@code suffix <suffix>}, {@code contains <fragment>}</li>
+ * <li>{@code wildcard <pattern>}, with {@code ?} for one letter and {@code *} for any</li>
+ * <li>{@code subwords <word> [minLength]}, {@code fuzzy <word> [maxDistance]}</li>
+ * <li>{@code ladder <from> <to>}, {@code search <start> <end> <length>}
+ * ({@code -} for any)</li>
+ * </ul>
+ * Blank lines and lines starting with {@code #} are skipped. A result line
+ * is the operation, a tab, and the result: the words separated by spaces,
+ * {@code true}/{@code false}, or {@code error: <message>} when the operation
+ * is invalid or failed.
+ *
+ * <p>Lines are read in chunks, each executed on a pool of `threads`; the
+ * results are written as the chunks complete, in order, through one large
+ * buffered writer. At most a few chunks per thread are in flight, so the
+ * memory used does not grow with the input.
+ */
+public class BatchApp {
+
+    /**
+     * The first program argument selecting the batch mode.
+     */
+    public static final String COMMAND = "batch";
+
+    static final int CHUNK_LINES = 256;
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /*
+     * Returns every result of the paged operations.
+     */
+    private static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private final JumbleEngine engine;
+
+    private final int threads;
+
+    public BatchApp(JumbleEngine engine, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Invalid threads=[" + threads + "], expect positive integer");
+        }
+        this.engine = engine;
+        this.threads = threads;
+    }
+
+    /**
+     * Executes the operations of `in`, writing their results to `out`.
+     *
+     * @param in   The operations, one per line.
+     * @param out  The results, flushed but not closed.
+     * @return  The number of operations executed.
+     * @throws IOException  When reading or writing fails.
+     */
+    public long run(BufferedReader in, Writer out) throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        long operations = 0;
+        try {
+            List<String> chunk = new ArrayList<>(CHUNK_LINES);
+            for (String line; (line = in.readLine()) != null;) {
+                if (isOperation(line)) {
+                    chunk.add(line.trim());
+                }
+                if (chunk.size() == CHUNK_LINES) {
+                    operations += chunk.size();
+                    submit(executor, pending, chunk);
+                    chunk = new ArrayList<>(CHUNK_LINES);
+                    if (pending.size() >= threads * CHUNKS_PER_THREAD) {
+                        write(pending.poll(), out);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                operations += chunk.size();
+                submit(executor, pending, chunk);
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), out);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        out.flush();
+        return operations;
+    }
+
+    private void submit(ExecutorService executor, Deque<Future<String>> pending, List<String> chunk) {
+        pending.add(executor.submit(() -> {
+            StringBuilder sb = new StringBuilder(chunk.size() * 32);
+            for (String operation : chunk) {
+                sb.append(operation).append('\t');
+                try {
+                    sb.append(execute(operation.split("\\s+")));
+                } catch (RuntimeException e) {
+                    // one failed operation is one error line, not a failed run
+                    sb.append("error: ").append(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+                }
+                sb.append('\n');
+            }
+            return sb.toString();
+        }));
+    }
+
+    private static void write(Future<String> chunk, Writer out) throws IOException {
+        try {
+            out.write(chunk.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for results");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to execute operations", e.getCause());
+        }
+    }
+
+    private static boolean isOperation(String line) {
+        String trimmed = line.trim();
+        return !trimmed.isEmpty() && !trimmed.startsWith("#");
+    }
+
+    /**
+     * @param fields  The operation name and its arguments.
+     * @return  The result of the operation.
+     * @throws IllegalArgumentException  When the operation or its arguments are invalid.
+     */
+    String execute(String[] fields) {
+        String name = fields[0].toLowerCase();
+        switch (name) {
+        case "exists":
+            return String.valueOf(engine.exists(argument(fields, 1)));
+        case "scramble":
+            return engine.scramble(argument(fields, 1));
+        case "anagram":
+            return join(engine.anagramsOf(argument(fields, 1)));
+        case "prefix":
+            return join(engine.wordsMatchingPrefix(argument(fields, 1)));
+        case "suffix":
+            return join(engine.wordsMatchingSuffix(argument(fields, 1), 0, NO_LIMIT).getItems());
+        case "contains":
+            return join(engine.wordsContaining(argument(fields, 1), 0, NO_LIMIT).getItems());
+        case "wildcard":
+            return join(engine.wildcardSearch(argument(fields, 1), 0, NO_LIMIT).getItems());
+        case "subwords":
+            return join(engine.generateSubWords(argument(fields, 1),
+                    fields.length > 2 ? Integer.valueOf(fields[2]) : null));
+        case "fuzzy":
+            return join(engine.fuzzyMatch(argument(fields, 1),
+                    fields.length > 2 ? Integer.parseInt(fields[2]) : 1));
+        case "ladder":
+            return join(engine.wordLadder(argument(fields, 1), argument(fields, 2)));
+        case "search":
+            return join(engine.searchWords(character(argument(fields, 1)), character(argument(fields, 2)),
+                    "-".equals(argument(fields, 3)) ? null : Integer.valueOf(fields[3])));
+        default:
+            throw new IllegalArgumentException("Unknown operation=[" + name + "]");
+        }
+    }
+
+    private static String argument(String[] fields, int index) {
+        if (index >= fields.length) {
+            throw new IllegalArgumentException("Missing argument " + index + " of operation=[" + fields[0] + "]");
+        }
+        return fields[index];
+    }
+
+    private static Character character(String argument) {
+        if ("-".equals(argument)) {
+            return null;
+        }
+        if (argument.length() != 1) {
+            throw new IllegalArgumentException("Invalid character=[" + argument + "], expect one letter or -");
+        }
+        return argument.charAt(0);
+    }
+
+    private static String join(Collection<String> words) {
+        return String.join(" ", words);
+    }
+
+    /*
+     * Fuzzy matches as "word:distance".
+     */
+    private static String join(Map<String, Integer> matches) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Integer> match : matches.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(match.getKey()).append(':').append(match.getValue());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param args  {@code [--threads N] [FILE|-]}, after {@link #COMMAND};
+     *              reads stdin when there is no file, or it is {@code -}.
+     */
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        String file = "-";
+        for (int ix = 0; ix < args.length; ix += 1) {
+            if ("--threads".equals(args[ix]) && ix + 1 < args.length) {
+                threads = Integer.parseInt(args[++ix]);
+            } else {
+                file = args[ix];
+            }
+        }
+
+        long start = System.nanoTime();
+        BatchApp app = new BatchApp(new JumbleEngine(new WordsRepository()), threads);
+        long loaded = System.nanoTime();
+        long operations;
+        try (BufferedReader in = "-".equals(file)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE)
+                : Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            operations = app.run(in, out);
+        }
+        long end = System.nanoTime();
+        // stdout carries the results only
+        System.err.printf("batch: %d operations in %d ms on %d threads, dictionary loaded in %d ms%n",
+                operations, TimeUnit.NANOSECONDS.toMillis(end - loaded), threads,
+                TimeUnit.NANOSECONDS.toMillis(loaded - start));
+    }
+
+}
@@ -2,20 +2,28 @@ package asia.fourtitude.interviewq.jumble.console;
 
 import java.io.PrintStream;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
 
 @Component
+@Lazy
 public class ConsoleApp extends AConsole {
 
     private final JumbleEngine engine;
 
-    public ConsoleApp(JumbleEngine engine, Scanner scanner, PrintStream printStream) {
+    private final WordsRepository wordsRepository;
+
+    public ConsoleApp(JumbleEngine engine, WordsRepository wordsRepository, Scanner scanner, PrintStream printStream) {
         super(scanner, printStream);
         this.engine = engine;
+        this.wordsRepository = wordsRepository;
     }
 
     private void scramble() {
@@ -187,6 +195,31 @@ public class ConsoleApp extends AConsole {
         cout.println((tStop - tStart) + " msec");
     }
 
+    @SuppressWarnings("unchecked")
+    private void footprint() {
+        cout.println();
+        cout.println("Dictionary Footprint");
+        cout.println("--------------------");
+
+        Map<String, Object> footprint = wordsRepository.getFootprint();
+        cout.printf("Version: %s, %d words, loaded in %s ms%n",
+                footprint.get("version"), footprint.get("words"), footprint.get("load_ms"));
+        cout.printf("%-10s %12s %10s%n", "structure", "bytes (est)", "build ms");
+        for (Map<String, Object> structure : (List<Map<String, Object>>) footprint.get("structures")) {
+            Object buildMs = structure.get("build_ms");
+            cout.printf("%-10s %,12d %10s%n", structure.get("name"), structure.get("bytes"),
+                    buildMs == null ? "-" : buildMs);
+        }
+        cout.printf("%-10s %,12d%n", "total", footprint.get("total_bytes"));
+        Map<String, Object> caches = (Map<String, Object>) footprint.get("caches");
+        for (Map.Entry<String, Object> cache : caches.entrySet()) {
+            cout.printf("Cache %s: %s%n", cache.getKey(), cache.getValue());
+        }
+        Runtime runtime = Runtime.getRuntime();
+        cout.printf("Heap: %,d bytes used of %,d max%n", runtime.totalMemory() - runtime.freeMemory(),
+                runtime.maxMemory());
+    }
+
     public void run() {
         boolean exit = false;
         boolean finish = false;
@@ -199,6 +232,7 @@ public class ConsoleApp extends AConsole {
             cout.println("   4. words matching prefix");
             cout.println("   5. search words");
             cout.println("   6. generate sub words");
+            cout.println("   7. dictionary footprint");
             cout.println("  11. play game");
             cout.println("   q. quit");
 
@@ -222,6 +256,9 @@ public class ConsoleApp extends AConsole {
             case "6":
                 generateSubWords();
                 break;
+            case "7":
+                footprint();
+                break;
             case "11":
                 exit = new GuessWord(cin, cout, engine).exec();
                 break;
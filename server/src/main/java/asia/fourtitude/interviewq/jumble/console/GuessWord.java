@@ -72,6 +72,10 @@ public class GuessWord extends AConsole {
                         cout.printf("[%s] guessed correctly%n", word);
                     } else {
                         cout.printf("[%s] guessed incorrectly%n", word);
+                        List<String> suggestions = this.engine.suggestGuesses(gameState, word);
+                        if (!suggestions.isEmpty()) {
+                            cout.println("Did you mean   : " + String.join(", ", suggestions) + "?");
+                        }
                     }
                     break;
                 }
@@ -0,0 +1,196 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import asia.fourtitude.interviewq.jumble.admission.AdmissionControl;
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
+import asia.fourtitude.interviewq.jumble.metrics.SlowOperation;
+import asia.fourtitude.interviewq.jumble.metrics.SlowOperationLog;
+import asia.fourtitude.interviewq.jumble.web.RenderedPageCacheFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name = "Admin API", description = "Operational/monitoring REST API endpoint.")
+@RequestMapping(path = "/api/admin")
+public class AdminApiController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdminApiController.class);
+
+    private static final String DUMP_PREFIX = "slow-operations-";
+
+    private static final String DUMP_SUFFIX = ".json";
+
+    private final AdmissionControl admissionControl;
+
+    private final SlowOperationLog slowOperationLog;
+
+    private final ObjectMapper objectMapper;
+
+    private final File dumpDirectory;
+
+    private final int maxDumpFiles;
+
+    private final AtomicLong dumpSequence = new AtomicLong();
+
+    private final WordsRepository wordsRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectProvider<FilterRegistrationBean<RenderedPageCacheFilter>> pageCache;
+
+    @Autowired(required = true)
+    public AdminApiController(
+            AdmissionControl admissionControl,
+            SlowOperationLog slowOperationLog,
+            ObjectMapper objectMapper,
+            @Value("${jumble.slow-log.dump-dir:${java.io.tmpdir}}") File dumpDirectory,
+            @Value("${jumble.slow-log.max-dump-files:10}") int maxDumpFiles,
+            WordsRepository wordsRepository,
+            MeterRegistry meterRegistry,
+            ObjectProvider<FilterRegistrationBean<RenderedPageCacheFilter>> pageCache) {
+        this.admissionControl = admissionControl;
+        this.slowOperationLog = slowOperationLog;
+        this.objectMapper = objectMapper;
+        this.dumpDirectory = dumpDirectory;
+        this.maxDumpFiles = maxDumpFiles;
+        this.wordsRepository = wordsRepository;
+        this.meterRegistry = meterRegistry;
+        this.pageCache = pageCache;
+    }
+
+    @Operation(
+            summary = "Admission control statistics",
+            description = "Returns the counters of admitted and rejected (rate limited, concurrency limited) requests on the expensive endpoints.")
+    @GetMapping(value = "/admission", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> admission() {
+        return new ResponseEntity<>(this.admissionControl.getStats(), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Slow operations",
+            description = "Returns the latest engine operations and request handlers slower than the threshold, newest first, with their arguments, duration and result size.")
+    @GetMapping(value = "/slow-operations", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> slowOperations(
+            @RequestParam(name = "limit", required = false, defaultValue = "100") int limit) {
+        if (limit <= 0) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Map<String, Object> output = slowOperationStats();
+        output.put("operations", this.slowOperationLog.snapshot(limit));
+        return new ResponseEntity<>(output, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Dump slow operations",
+            description = "Writes all the slow operations kept, newest first, as JSON to a new file in the dump directory (`jumble.slow-log.dump-dir`), and returns its path. Only the newest dumps (`jumble.slow-log.max-dump-files`) are kept.")
+    @PostMapping(value = "/slow-operations/dump", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> dumpSlowOperations() throws IOException {
+        List<SlowOperation> operations = this.slowOperationLog.snapshot(this.slowOperationLog.getCapacity());
+        if (!this.dumpDirectory.isDirectory() && !this.dumpDirectory.mkdirs()) {
+            throw new IOException("Failed to create directory " + this.dumpDirectory);
+        }
+        // the time, then a sequence for dumps within the same millisecond
+        File file = new File(this.dumpDirectory, String.format("%s%013d-%06d%s",
+                DUMP_PREFIX, System.currentTimeMillis(), this.dumpSequence.incrementAndGet() % 1_000_000, DUMP_SUFFIX));
+        Map<String, Object> dump = slowOperationStats();
+        dump.put("operations", operations);
+        // never overwrites a dump, e.g. of another instance sharing the directory
+        try (OutputStream out = Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE_NEW)) {
+            this.objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, dump);
+        }
+        LOG.info("dumpSlowOperations: {} operations to {}", operations.size(), file);
+        deleteOldDumps();
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("file", file.getAbsolutePath());
+        output.put("operations", operations.size());
+        return new ResponseEntity<>(output, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Memory footprint",
+            description = "Returns the estimated (not measured) bytes retained and the build time of each dictionary structure, the dictionary version and load time, the cache counters, the number of games in memory and the heap usage, for sizing heaps.")
+    @GetMapping(value = "/footprint", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> footprint() {
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("dictionary", this.wordsRepository.getFootprint());
+
+        Map<String, Object> caches = new LinkedHashMap<>();
+        FilterRegistrationBean<RenderedPageCacheFilter> registration = this.pageCache.getIfAvailable();
+        if (registration != null && registration.isEnabled()) {
+            caches.put("rendered_pages", registration.getFilter().getStats());
+        }
+        output.put("caches", caches);
+
+        Gauge liveGames = this.meterRegistry.find(GameMetrics.LIVE_GAMES).gauge();
+        Map<String, Object> games = new LinkedHashMap<>();
+        games.put("live", liveGames == null ? 0 : (long) liveGames.value());
+        output.put("games", games);
+
+        Runtime runtime = Runtime.getRuntime();
+        Map<String, Object> heap = new LinkedHashMap<>();
+        heap.put("used_bytes", runtime.totalMemory() - runtime.freeMemory());
+        heap.put("committed_bytes", runtime.totalMemory());
+        heap.put("max_bytes", runtime.maxMemory());
+        output.put("heap", heap);
+        return new ResponseEntity<>(output, HttpStatus.OK);
+    }
+
+    /*
+     * Keeps the newest `maxDumpFiles` dumps; the names sort by time, then
+     * by sequence.
+     */
+    private void deleteOldDumps() {
+        File[] dumps = this.dumpDirectory.listFiles(
+                (dir, name) -> name.startsWith(DUMP_PREFIX) && name.endsWith(DUMP_SUFFIX));
+        if (dumps == null || dumps.length <= this.maxDumpFiles) {
+            return;
+        }
+        Arrays.sort(dumps);
+        for (int ix = 0; ix < dumps.length - this.maxDumpFiles; ix += 1) {
+            if (dumps[ix].delete()) {
+                LOG.debug("deleteOldDumps: deleted {}", dumps[ix]);
+            } else {
+                LOG.warn("deleteOldDumps: failed to delete {}", dumps[ix]);
+            }
+        }
+    }
+
+    private Map<String, Object> slowOperationStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threshold_ms", this.slowOperationLog.getThresholdMillis());
+        stats.put("capacity", this.slowOperationLog.getCapacity());
+        stats.put("recorded", this.slowOperationLog.getRecorded());
+        return stats;
+    }
+
+}
@@ -1,5 +1,6 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -13,10 +14,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import asia.fourtitude.interviewq.jumble.core.AsyncJumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.Deadline;
 import asia.fourtitude.interviewq.jumble.core.GameState;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.PartialResult;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
 import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
 import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
 import asia.fourtitude.interviewq.jumble.model.GameGuessOutput;
@@ -36,17 +42,32 @@ public class GameApiController {
 
     private static final Logger LOG = LoggerFactory.getLogger(GameApiController.class);
 
+    /*
+     * The largest grid offered by the grid mode; bigger grids hold too many
+     * words to play.
+     */
+    static final int MAX_PLAY_GRID_SIZE = 6;
+
+    static final int MAX_GRID_TARGET_WORDS = 500;
+
     private final JumbleEngine jumbleEngine;
 
+    private final AsyncJumbleEngine asyncJumbleEngine;
+
+    private final GameMetrics gameMetrics;
+
     /*
      * In-memory database/repository for all the game boards/states.
      */
     private final Map<String, GameGuessModel> gameBoards;
 
     @Autowired(required = true)
-    public GameApiController(JumbleEngine jumbleEngine) {
+    public GameApiController(JumbleEngine jumbleEngine, AsyncJumbleEngine asyncJumbleEngine, GameMetrics gameMetrics) {
         this.jumbleEngine = jumbleEngine;
+        this.asyncJumbleEngine = asyncJumbleEngine;
+        this.gameMetrics = gameMetrics;
         this.gameBoards = new ConcurrentHashMap<>();
+        gameMetrics.gaugeLiveGames(this.gameBoards);
     }
 
     @Operation(
@@ -72,14 +93,26 @@ public class GameApiController {
                                                             "  \"total_words\": 29,\n" +
                                                             "  \"remaining_words\": 29,\n" +
                                                             "  \"guessed_words\": []\n" +
-                                                            "}") })) })
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Server is busy, no game created within deadline.",
+                            content = @Content) })
     @GetMapping(value = "/new", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<GameGuessOutput> newGame() {
+        long start = System.nanoTime();
         /*
          * Refer to the method's Javadoc (above) and implement accordingly.
          * Must pass the corresponding unit tests.
          */
-        GameState gameState = this.jumbleEngine.createGameState(6, 3);
+        Deadline deadline = this.asyncJumbleEngine.newDeadline();
+        PartialResult<GameState> created = this.asyncJumbleEngine.await(
+                this.asyncJumbleEngine.createGameStateAsync(6, 3), deadline);
+        if (created == null) {
+            LOG.warn("newGame: no game state within deadline, responding 503");
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        GameState gameState = created.getValue();
 
         /*
          * a) Store the game state to the repository, with unique game board ID
@@ -106,6 +139,98 @@ public class GameApiController {
         output.setRemainingWords(totalWords);
         output.setGuessedWords(new java.util.ArrayList<>());
 
+        this.gameMetrics.record(GameMetrics.Action.NEW, start);
+        return new ResponseEntity<>(output, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Creates new grid game board/state",
+            description = "Creates a new game board/state of the grid mode, registered into game engine referenced by `id`: "
+                    + "the words to find are traced through adjacent (also diagonal) letters of a `size` x `size` grid, "
+                    + "each letter used at most once per word. The grid is generated to hold about `targetWords` words "
+                    + "of `minLength` letters or more, and is not rescrambled between plays.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GameGuessOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "Created a new grid game/board and registered into system.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Created new game.\",\n" +
+                                                            "  \"id\": \"0b8a3f0e-6d55-4c11-9a55-2f4f3b1d2c7e\",\n" +
+                                                            "  \"original_word\": \"tapeolesrnidgaum\",\n" +
+                                                            "  \"scramble_word\": \"tapeolesrnidgaum\",\n" +
+                                                            "  \"total_words\": 206,\n" +
+                                                            "  \"remaining_words\": 206,\n" +
+                                                            "  \"guessed_words\": [],\n" +
+                                                            "  \"grid\": [\n" +
+                                                            "    \"tape\",\n" +
+                                                            "    \"oles\",\n" +
+                                                            "    \"rnid\",\n" +
+                                                            "    \"gaum\"\n" +
+                                                            "  ]\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request, the `size`, `targetWords` or `minLength` is out of range.",
+                            content = @Content),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Server is busy, no game created within deadline.",
+                            content = @Content) })
+    @GetMapping(value = "/grid/new", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GameGuessOutput> newGridGame(
+            @Parameter(description = "The number of rows (and columns) of the grid, 3 to 6.", example = "5")
+            @RequestParam(defaultValue = "5") int size,
+            @Parameter(description = "The number of words wanted in the grid, 1 to 500.", example = "80")
+            @RequestParam(defaultValue = "80") int targetWords,
+            @Parameter(description = "The minimum length of a word to find, 3 or more.", example = "3")
+            @RequestParam(defaultValue = "3") int minLength) {
+        if (size < JumbleEngine.MIN_GRID_SIZE || size > MAX_PLAY_GRID_SIZE
+                || targetWords < 1 || targetWords > MAX_GRID_TARGET_WORDS
+                || minLength < 3 || minLength > size * size) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        long start = System.nanoTime();
+        Deadline deadline = this.asyncJumbleEngine.newDeadline();
+        PartialResult<GameState> created = this.asyncJumbleEngine.await(
+                this.asyncJumbleEngine.createGridGameStateAsync(size, targetWords, minLength), deadline);
+        if (created == null) {
+            LOG.warn("newGridGame: no game state within deadline, responding 503");
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        GameState gameState = created.getValue();
+        LOG.debug("newGridGame: size={}, targetWords={}, gameState=[{}]", size, targetWords, gameState);
+
+        String id = java.util.UUID.randomUUID().toString();
+
+        GameGuessModel model = new GameGuessModel();
+        model.setId(id);
+        model.setCreatedAt(new java.util.Date());
+        model.setModifiedAt(new java.util.Date());
+        model.setGameState(gameState);
+
+        this.gameBoards.put(id, model);
+
+        int totalWords = gameState.getSubWords().size();
+
+        GameGuessOutput output = new GameGuessOutput();
+        output.setResult("Created new game.");
+        output.setId(id);
+        output.setOriginalWord(gameState.getOriginal());
+        output.setScrambleWord(gameState.getScramble());
+        output.setTotalWords(totalWords);
+        output.setRemainingWords(totalWords);
+        output.setGuessedWords(new java.util.ArrayList<>());
+        output.setGrid(gameState.getGridRows());
+
+        this.gameMetrics.record(GameMetrics.Action.NEW_GRID, start);
         return new ResponseEntity<>(output, HttpStatus.OK);
     }
 
@@ -166,10 +291,13 @@ public class GameApiController {
                                                             "  \"id\": \"88b4278c-5141-42af-86e6-2a1d4cfa5f3b\",\n" +
                                                             "  \"original_word\": \"ranker\",\n" +
                                                             "  \"scramble_word\": \"rnraek\",\n" +
-                                                            "  \"guess_word\": \"answer\",\n" +
+                                                            "  \"guess_word\": \"rankk\",\n" +
                                                             "  \"total_words\": 15,\n" +
                                                             "  \"remaining_words\": 15,\n" +
-                                                            "  \"guessed_words\": []\n" +
+                                                            "  \"guessed_words\": [],\n" +
+                                                            "  \"suggestions\": [\n" +
+                                                            "    \"rank\"\n" +
+                                                            "  ]\n" +
                                                             "}"),
                                             @ExampleObject(
                                                     name = "All Guessed",
@@ -224,6 +352,15 @@ public class GameApiController {
                             "  \"word\": \"answer\"\n" +
                             "}")
             @RequestBody GameGuessInput input) {
+        long start = System.nanoTime();
+        try {
+            return guess(input);
+        } finally {
+            this.gameMetrics.record(GameMetrics.Action.GUESS, start);
+        }
+    }
+
+    private ResponseEntity<GameGuessOutput> guess(GameGuessInput input) {
         /*
          * Refer to the method's Javadoc (above) and implement accordingly.
          * Must pass the corresponding unit tests.
@@ -237,6 +374,7 @@ public class GameApiController {
         if (inputId == null || inputId.trim().isEmpty()) {
             GameGuessOutput invalid = new GameGuessOutput();
             invalid.setResult("Invalid Game ID.");
+            this.gameMetrics.countGuess(GameMetrics.Outcome.NOT_FOUND);
             return new ResponseEntity<>(invalid, HttpStatus.NOT_FOUND);
         }
         // Validate UUID format
@@ -245,6 +383,7 @@ public class GameApiController {
         } catch (IllegalArgumentException e) {
             GameGuessOutput invalid = new GameGuessOutput();
             invalid.setResult("Invalid Game ID.");
+            this.gameMetrics.countGuess(GameMetrics.Outcome.NOT_FOUND);
             return new ResponseEntity<>(invalid, HttpStatus.NOT_FOUND);
         }
 
@@ -255,6 +394,7 @@ public class GameApiController {
         if (model == null) {
             GameGuessOutput notFound = new GameGuessOutput();
             notFound.setResult("Game board/state not found.");
+            this.gameMetrics.countGuess(GameMetrics.Outcome.NOT_FOUND);
             return new ResponseEntity<>(notFound, HttpStatus.NOT_FOUND);
         }
 
@@ -265,8 +405,10 @@ public class GameApiController {
         GameState gameState = model.getGameState();
         String guessWord = (input.getWord() == null) ? null : input.getWord().trim();
 
-        // Rescramble on every play
-        gameState.setScramble(this.jumbleEngine.scramble(gameState.getOriginal()));
+        // Rescramble on every play; a grid keeps its layout
+        if (!gameState.isGrid()) {
+            gameState.setScramble(this.jumbleEngine.scramble(gameState.getOriginal()));
+        }
         model.setModifiedAt(new java.util.Date());
 
         int totalWords = gameState.getSubWords().size();
@@ -276,6 +418,7 @@ public class GameApiController {
 
         String result;
         boolean guessedCorrectly = false;
+        List<String> suggestions = null;
 
         if (guessWord == null || guessWord.isEmpty()) {
             // null / blank word → incorrect
@@ -283,8 +426,12 @@ public class GameApiController {
         } else {
             Boolean existing = gameState.getSubWords().get(guessWord);
             if (existing == null) {
-                // word not in sub-words list
+                // word not in sub-words list, maybe mistyped
                 result = "Guessed incorrectly.";
+                suggestions = this.jumbleEngine.suggestGuesses(gameState, guessWord);
+                if (suggestions.isEmpty()) {
+                    suggestions = null;
+                }
             } else if (existing == Boolean.TRUE) {
                 // already guessed before
                 result = "Guessed incorrectly.";
@@ -302,6 +449,14 @@ public class GameApiController {
             }
         }
 
+        if (!guessedCorrectly) {
+            this.gameMetrics.countGuess(GameMetrics.Outcome.INCORRECT);
+        } else if (remainingWords == 0) {
+            this.gameMetrics.countGuess(GameMetrics.Outcome.ALL_GUESSED);
+        } else {
+            this.gameMetrics.countGuess(GameMetrics.Outcome.CORRECT);
+        }
+
         /*
          * e) Return the updated game board/state (GameGuessOutput) to caller
          */
@@ -314,6 +469,10 @@ public class GameApiController {
         output.setTotalWords(totalWords);
         output.setRemainingWords(remainingWords);
         output.setGuessedWords(gameState.getGuessedWords());
+        output.setSuggestions(suggestions);
+        if (gameState.isGrid()) {
+            output.setGrid(gameState.getGridRows());
+        }
 
         return new ResponseEntity<>(output, HttpStatus.OK);
     }
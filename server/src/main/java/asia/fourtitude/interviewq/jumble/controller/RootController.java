@@ -1,11 +1,15 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -13,13 +17,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import asia.fourtitude.interviewq.jumble.core.AsyncJumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.Deadline;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.Page;
+import asia.fourtitude.interviewq.jumble.core.PartialResult;
 import asia.fourtitude.interviewq.jumble.model.ExistsForm;
 import asia.fourtitude.interviewq.jumble.model.PrefixForm;
 import asia.fourtitude.interviewq.jumble.model.ScrambleForm;
 import asia.fourtitude.interviewq.jumble.model.SearchForm;
 import asia.fourtitude.interviewq.jumble.model.SubWordsForm;
+import asia.fourtitude.interviewq.jumble.model.WildcardForm;
 
 @Controller
 @RequestMapping(path = "/")
@@ -27,11 +37,43 @@ public class RootController {
 
     private static final Logger LOG = LoggerFactory.getLogger(RootController.class);
 
+    static final String MSG_PARTIAL = "Deadline exceeded, showing partial result.";
+
+    static final String MSG_BUSY = "Server is busy, please try again later.";
+
     private final JumbleEngine jumbleEngine;
 
+    private final AsyncJumbleEngine asyncJumbleEngine;
+
+    private final int pageSize;
+
     @Autowired(required = true)
-    public RootController(JumbleEngine jumbleEngine) {
+    public RootController(JumbleEngine jumbleEngine, AsyncJumbleEngine asyncJumbleEngine,
+            @Value("${jumble.web.page-size:100}") int pageSize) {
         this.jumbleEngine = jumbleEngine;
+        this.asyncJumbleEngine = asyncJumbleEngine;
+        this.pageSize = pageSize;
+    }
+
+    /*
+     * Waits for the heavy operation, bounded by its deadline. Returns the
+     * result, possibly partial (with message), or null after setting status
+     * 503 (Service Unavailable) when no result is available in time.
+     */
+    private <T> T awaitResult(
+            CompletableFuture<PartialResult<T>> future, Deadline deadline,
+            Model model, HttpServletResponse response) {
+        PartialResult<T> result = this.asyncJumbleEngine.await(future, deadline);
+        if (result == null) {
+            LOG.warn("awaitResult: no result within deadline, responding 503");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            model.addAttribute("message", MSG_BUSY);
+            return null;
+        }
+        if (!result.isComplete()) {
+            model.addAttribute("message", MSG_PARTIAL);
+        }
+        return result.getValue();
     }
 
     @GetMapping
@@ -65,8 +107,8 @@ public class RootController {
     }
 
     @GetMapping("palindrome")
-    public String doGetPalindrome(Model model) {
-        model.addAttribute("words", this.jumbleEngine.retrievePalindromeWords());
+    public String doGetPalindrome(@RequestParam(name = "page", required = false) Integer page, Model model) {
+        model.addAttribute("words", this.jumbleEngine.retrievePalindromeWords(Page.offsetOf(page, pageSize), pageSize));
         return "palindrome";
     }
 
@@ -100,7 +142,8 @@ public class RootController {
         if (bindingResult.hasErrors()) {
             return "prefix";
         }
-        form.setWords(this.jumbleEngine.wordsMatchingPrefix(form.getPrefix()));
+        form.setWords(this.jumbleEngine.wordsMatchingPrefix(
+                form.getPrefix(), Page.offsetOf(form.getPage(), pageSize), pageSize));
         return "prefix";
     }
 
@@ -113,7 +156,7 @@ public class RootController {
     @PostMapping("search")
     public String doPostSearch(
             @Valid @ModelAttribute(name = "form") SearchForm form,
-            BindingResult bindingResult, Model model) {
+            BindingResult bindingResult, Model model, HttpServletResponse response) {
         boolean startCharEmpty = form.getStartChar() == null || form.getStartChar().isEmpty();
         boolean endCharEmpty = form.getEndChar() == null || form.getEndChar().isEmpty();
         boolean lengthEmpty = form.getLength() == null && !bindingResult.hasFieldErrors("length");
@@ -130,10 +173,32 @@ public class RootController {
 
         Character startChar = startCharEmpty ? null : form.getStartChar().charAt(0);
         Character endChar = endCharEmpty ? null : form.getEndChar().charAt(0);
-        form.setWords(this.jumbleEngine.searchWords(startChar, endChar, form.getLength()));
+        Deadline deadline = this.asyncJumbleEngine.newDeadline();
+        form.setWords(awaitResult(
+                this.asyncJumbleEngine.searchWordsAsync(startChar, endChar, form.getLength(),
+                        Page.offsetOf(form.getPage(), pageSize), pageSize, deadline),
+                deadline, model, response));
         return "search";
     }
 
+    @GetMapping("wildcard")
+    public String doGetWildcard(Model model) {
+        model.addAttribute("form", new WildcardForm());
+        return "wildcard";
+    }
+
+    @PostMapping("wildcard")
+    public String doPostWildcard(
+            @Valid @ModelAttribute(name = "form") WildcardForm form,
+            BindingResult bindingResult, Model model) {
+        if (bindingResult.hasErrors()) {
+            return "wildcard";
+        }
+        form.setWords(this.jumbleEngine.wildcardSearch(
+                form.getPattern(), Page.offsetOf(form.getPage(), pageSize), pageSize));
+        return "wildcard";
+    }
+
     @GetMapping("subWords")
     public String goGetSubWords(Model model) {
         model.addAttribute("form", new SubWordsForm());
@@ -143,11 +208,18 @@ public class RootController {
     @PostMapping("subWords")
     public String doPostSubWords(
             @Valid @ModelAttribute(name = "form") SubWordsForm form,
-            BindingResult bindingResult, Model model) {
+            BindingResult bindingResult, Model model, HttpServletResponse response) {
         if (bindingResult.hasErrors()) {
             return "subWords";
         }
-        form.setWords(this.jumbleEngine.generateSubWords(form.getWord(), form.getMinLength()));
+        Deadline deadline = this.asyncJumbleEngine.newDeadline();
+        Collection<String> words = awaitResult(
+                this.asyncJumbleEngine.generateSubWordsAsync(form.getWord(), form.getMinLength(), deadline),
+                deadline, model, response);
+        if (words != null) {
+            // sub words are generated, not indexed; slice the (small) result
+            form.setWords(Page.of(words, Page.offsetOf(form.getPage(), pageSize), pageSize));
+        }
         return "subWords";
     }
 
@@ -2,20 +2,29 @@ package asia.fourtitude.interviewq.jumble.controller;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import asia.fourtitude.interviewq.jumble.core.AsyncJumbleEngine;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.Page;
+import asia.fourtitude.interviewq.jumble.core.PartialResult;
+import asia.fourtitude.interviewq.jumble.core.ScoredWord;
+import asia.fourtitude.interviewq.jumble.core.words.AnagramIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -31,16 +40,28 @@ public class WordApiController {
 
     private static final Logger LOG = LoggerFactory.getLogger(WordApiController.class);
 
+    static final int MAX_PAGE_LIMIT = 1000;
+
+    static final int MAX_PHRASE_WORDS = 5;
+
     private final JumbleEngine jumbleEngine;
 
+    private final AsyncJumbleEngine asyncJumbleEngine;
+
+    private final int maxPhraseAnagrams;
+
     @Autowired(required = true)
-    public WordApiController(JumbleEngine jumbleEngine) {
+    public WordApiController(JumbleEngine jumbleEngine, AsyncJumbleEngine asyncJumbleEngine,
+            @Value("${jumble.engine.phrase-anagram.max-results:1000}") int maxPhraseAnagrams) {
         this.jumbleEngine = jumbleEngine;
+        this.asyncJumbleEngine = asyncJumbleEngine;
+        this.maxPhraseAnagrams = maxPhraseAnagrams;
     }
 
     @Operation(
             summary = "Auto complete based on prefix",
-            description = "Returns a list of words matching the input `prefix` (of at least 3 letters).")
+            description = "Returns a list of words matching the input `prefix` (of at least 3 letters). "
+                    + "With `limit`, returns only the `limit` most common completions, most common first.")
     @ApiResponses(
             value = {
                     @ApiResponse(
@@ -60,19 +81,528 @@ public class WordApiController {
                                                             "  \"awesomely\",\n" +
                                                             "  \"awesomeness\",\n" +
                                                             "  \"awestruck\"\n" +
-                                                            "]") })) })
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The `limit` is out of range.") })
     @GetMapping(value = "/{prefix}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Collection<String>> autoComplete(
             @Parameter(
                     description = "The prefix.",
                     required = true,
                     example = "awe")
-            @PathVariable String prefix) {
+            @PathVariable String prefix,
+            @Parameter(
+                    description = "The maximum number of completions, ranked by word frequency, 1 to "
+                            + MAX_PAGE_LIMIT + ".",
+                    example = "10")
+            @RequestParam(required = false) Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_LIMIT)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         prefix = StringUtils.trimToEmpty(prefix);
         if (prefix.length() < 3) {
             return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
         }
-        Collection<String> words = this.jumbleEngine.wordsMatchingPrefix(prefix);
+        Collection<String> words = limit == null
+                ? this.jumbleEngine.wordsMatchingPrefix(prefix)
+                : this.jumbleEngine.topWordsMatchingPrefix(prefix, limit);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Fuzzy lookup of a word",
+            description = "Returns the words within `distance` edits (insert, delete, substitute, or swap adjacent letters) "
+                    + "of the input `word`, nearest first, mapped to their edit distance.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The words near `word`, with their edit distance.",
+                                                    value = "{\n" +
+                                                            "  \"receive\": 1,\n" +
+                                                            "  \"relieve\": 2,\n" +
+                                                            "  \"revive\": 2\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The `distance` is out of range.") })
+    @GetMapping(value = "/fuzzy/{word}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Integer>> fuzzyMatch(
+            @Parameter(
+                    description = "The (possibly misspelt) word.",
+                    required = true,
+                    example = "recieve")
+            @PathVariable String word,
+            @Parameter(
+                    description = "The maximum edit distance, 0 to " + JumbleEngine.MAX_FUZZY_DISTANCE + ".",
+                    example = "2")
+            @RequestParam(defaultValue = "1") int distance) {
+        if (distance < 0 || distance > JumbleEngine.MAX_FUZZY_DISTANCE) {
+            return new ResponseEntity<>(Collections.emptyMap(), HttpStatus.BAD_REQUEST);
+        }
+        Map<String, Integer> words = this.jumbleEngine.fuzzyMatch(StringUtils.trimToEmpty(word), distance);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Rhyme search based on suffix",
+            description = "Returns a page of the words ending with `suffix`, in rhyme order (sorted by the reversed word). "
+                    + "With `prefix`, returns only the words also beginning with `prefix`, in dictionary order.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The page of words ending with `suffix`.",
+                                                    value = "{\n" +
+                                                            "  \"items\": [\n" +
+                                                            "    \"straight\",\n" +
+                                                            "    \"bight\",\n" +
+                                                            "    \"eight\"\n" +
+                                                            "  ],\n" +
+                                                            "  \"offset\": 0,\n" +
+                                                            "  \"limit\": 3,\n" +
+                                                            "  \"total\": 100,\n" +
+                                                            "  \"number\": 1,\n" +
+                                                            "  \"totalPages\": 34\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The `offset` or `limit` is out of range.") })
+    @GetMapping(value = "/suffix/{suffix}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Page<String>> rhymeSearch(
+            @Parameter(
+                    description = "The suffix.",
+                    required = true,
+                    example = "ight")
+            @PathVariable String suffix,
+            @Parameter(
+                    description = "The prefix the words must also begin with.",
+                    example = "fl")
+            @RequestParam(required = false) String prefix,
+            @Parameter(
+                    description = "The offset (zero based) of the first word.",
+                    example = "0")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(
+                    description = "The maximum number of words, 1 to " + MAX_PAGE_LIMIT + ".",
+                    example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Page<String> words = StringUtils.isBlank(prefix)
+                ? this.jumbleEngine.wordsMatchingSuffix(suffix, offset, limit)
+                : this.jumbleEngine.wordsMatchingPrefixAndSuffix(prefix, suffix, offset, limit);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Substring search",
+            description = "Returns a page of the words containing `fragment` anywhere, in dictionary order.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The page of words containing `fragment`.",
+                                                    value = "{\n" +
+                                                            "  \"items\": [\n" +
+                                                            "    \"aforethought\",\n" +
+                                                            "    \"afterthought\",\n" +
+                                                            "    \"afterthoughts\"\n" +
+                                                            "  ],\n" +
+                                                            "  \"offset\": 0,\n" +
+                                                            "  \"limit\": 3,\n" +
+                                                            "  \"total\": 131,\n" +
+                                                            "  \"number\": 1,\n" +
+                                                            "  \"totalPages\": 44\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The `offset` or `limit` is out of range.") })
+    @GetMapping(value = "/contains/{fragment}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Page<String>> substringSearch(
+            @Parameter(
+                    description = "The fragment.",
+                    required = true,
+                    example = "ough")
+            @PathVariable String fragment,
+            @Parameter(
+                    description = "The offset (zero based) of the first word.",
+                    example = "0")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(
+                    description = "The maximum number of words, 1 to " + MAX_PAGE_LIMIT + ".",
+                    example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Page<String> words = this.jumbleEngine.wordsContaining(fragment, offset, limit);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Anagrams of letters",
+            description = "Returns the words using exactly the input `letters` (each letter once), in dictionary order.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The anagrams of `letters`.",
+                                                    value = "[\n" +
+                                                            "  \"least\",\n" +
+                                                            "  \"slate\",\n" +
+                                                            "  \"stale\",\n" +
+                                                            "  \"steal\",\n" +
+                                                            "  \"tales\",\n" +
+                                                            "  \"teals\"\n" +
+                                                            "]") })) })
+    @GetMapping(value = "/anagrams/{letters}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> anagrams(
+            @Parameter(
+                    description = "The letters.",
+                    required = true,
+                    example = "tesla")
+            @PathVariable String letters) {
+        Collection<String> words = this.jumbleEngine.anagramsOf(StringUtils.trimToEmpty(letters));
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Largest anagram families",
+            description = "Returns the largest sets of words sharing the same letters, largest first, "
+                    + "keyed by the letters in ascending order.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The largest anagram families.",
+                                                    value = "{\n" +
+                                                            "  \"aeprs\": [\"pares\", \"parse\", \"pears\", \"rapes\", \"reaps\", \"spare\", \"spear\"],\n" +
+                                                            "  \"aerst\": [\"aster\", \"rates\", \"resat\", \"stare\", \"tares\", \"taser\", \"tears\"]\n" +
+                                                            "}") })) })
+    @GetMapping(value = "/anagram-families", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, List<String>>> anagramFamilies(
+            @Parameter(
+                    description = "The maximum number of families, up to " + AnagramIndex.MAX_FAMILIES + ".",
+                    example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        Map<String, List<String>> families = this.jumbleEngine.anagramFamilies(limit);
+        return new ResponseEntity<>(families, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Word ladder",
+            description = "Returns a shortest chain of words from `from` to `to`, changing one letter at a time, "
+                    + "every step a word; empty when the words are unknown, differ in length, or are not connected.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The words of the ladder, `from` first and `to` last.",
+                                                    value = "[\n" +
+                                                            "  \"cold\",\n" +
+                                                            "  \"cord\",\n" +
+                                                            "  \"word\",\n" +
+                                                            "  \"worm\",\n" +
+                                                            "  \"warm\"\n" +
+                                                            "]") })) })
+    @GetMapping(value = "/ladder/{from}/{to}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> wordLadder(
+            @Parameter(
+                    description = "The first word.",
+                    required = true,
+                    example = "cold")
+            @PathVariable String from,
+            @Parameter(
+                    description = "The last word, of the same length.",
+                    required = true,
+                    example = "warm")
+            @PathVariable String to) {
+        Collection<String> words = this.jumbleEngine.wordLadder(StringUtils.trimToEmpty(from), StringUtils.trimToEmpty(to));
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Phrase anagrams",
+            description = "Returns the phrases of up to `maxWords` words using exactly the letters of `phrase`, "
+                    + "each combination once, longest word first. The search stops after `limit` phrases or "
+                    + "when the deadline expires, in which case `complete` is false.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The phrases using the letters of `phrase`.",
+                                                    value = "{\n" +
+                                                            "  \"value\": [\n" +
+                                                            "    \"dormitory\",\n" +
+                                                            "    \"dirty room\"\n" +
+                                                            "  ],\n" +
+                                                            "  \"complete\": true\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The `maxWords` or `limit` is out of range."),
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Too many requests, from this client or in total; retry after `Retry-After` seconds.") })
+    @GetMapping(value = "/phrase-anagrams/{phrase}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PartialResult<List<String>>> phraseAnagrams(
+            @Parameter(
+                    description = "The phrase (letters and spaces).",
+                    required = true,
+                    example = "dormitory")
+            @PathVariable String phrase,
+            @Parameter(
+                    description = "The maximum number of words in a phrase, 1 to " + MAX_PHRASE_WORDS + ".",
+                    example = "2")
+            @RequestParam(defaultValue = "3") int maxWords,
+            @Parameter(
+                    description = "The minimum length of a word in a phrase.",
+                    example = "3")
+            @RequestParam(defaultValue = "2") int minLength,
+            @Parameter(
+                    description = "The maximum number of phrases.",
+                    example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        if (maxWords < 1 || maxWords > MAX_PHRASE_WORDS || limit < 1 || limit > maxPhraseAnagrams) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        // on the request thread: the search forks onto its own bounded pool, and stops at the deadline
+        PartialResult<List<String>> phrases = this.jumbleEngine.phraseAnagrams(
+                phrase, maxWords, minLength, limit, this.asyncJumbleEngine.newDeadline());
+        return new ResponseEntity<>(phrases, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Best scoring words from a rack of tiles",
+            description = "Returns the `limit` highest scoring words playable from the `rack`, where `_` (or an "
+                    + "encoded `?`) is a blank tile standing for any letter and scoring nothing. Letters score "
+                    + "standard English Scrabble values unless overridden by `values`.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The best scoring words, highest first.",
+                                                    value = "[\n" +
+                                                            "  {\n" +
+                                                            "    \"word\": \"jetty\",\n" +
+                                                            "    \"score\": 14,\n" +
+                                                            "    \"blanks\": \"t\"\n" +
+                                                            "  }\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The `values` or `limit` is invalid.") })
+    @GetMapping(value = "/rack/{rack}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ScoredWord>> rackWords(
+            @Parameter(
+                    description = "The tiles, letters and blanks (`_`).",
+                    required = true,
+                    example = "jety_")
+            @PathVariable String rack,
+            @Parameter(
+                    description = "The minimum length of a word.",
+                    example = "2")
+            @RequestParam(defaultValue = "2") int minLength,
+            @Parameter(
+                    description = "The maximum number of words, 1 to " + MAX_PAGE_LIMIT + ".",
+                    example = "20")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(
+                    description = "Letter values overriding the defaults, as comma separated `letter:value`.",
+                    example = "q:11,z:11")
+            @RequestParam(required = false) String values) {
+        int[] letterValues = parseLetterValues(values);
+        if (letterValues == null || limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<ScoredWord> words = this.jumbleEngine.scoredSubWords(rack, minLength, letterValues, limit);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    /*
+     * Parses "q:11,z:11" over the default letter values; null when malformed.
+     */
+    private static int[] parseLetterValues(String values) {
+        int[] letterValues = JumbleEngine.defaultLetterValues();
+        if (StringUtils.isBlank(values)) {
+            return letterValues;
+        }
+        for (String pair : values.split(",")) {
+            String[] fields = pair.trim().toLowerCase().split(":");
+            if (fields.length != 2 || fields[0].length() != 1
+                    || fields[0].charAt(0) < 'a' || fields[0].charAt(0) > 'z') {
+                return null;
+            }
+            try {
+                letterValues[fields[0].charAt(0) - 'a'] = Integer.parseInt(fields[1].trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return letterValues;
+    }
+
+    @Operation(
+            summary = "Wildcard search",
+            description = "Returns a page of the words matching the `pattern`, in dictionary order, "
+                    + "where `?` matches exactly one letter and `*` any number of letters.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The page of words matching `pattern`.",
+                                                    value = "{\n" +
+                                                            "  \"items\": [\n" +
+                                                            "    \"ballad\",\n" +
+                                                            "    \"balled\",\n" +
+                                                            "    \"ballet\"\n" +
+                                                            "  ],\n" +
+                                                            "  \"offset\": 0,\n" +
+                                                            "  \"limit\": 3,\n" +
+                                                            "  \"total\": 5,\n" +
+                                                            "  \"number\": 1,\n" +
+                                                            "  \"totalPages\": 2\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The `offset` or `limit` is out of range.") })
+    @GetMapping(value = "/wildcard", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Page<String>> wildcardSearch(
+            @Parameter(
+                    description = "The pattern of letters, `?` and `*`.",
+                    required = true,
+                    example = "ball??")
+            @RequestParam String pattern,
+            @Parameter(
+                    description = "The offset (zero based) of the first word.",
+                    example = "0")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(
+                    description = "The maximum number of words, 1 to " + MAX_PAGE_LIMIT + ".",
+                    example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Page<String> words = this.jumbleEngine.wildcardSearch(pattern, offset, limit);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Positional constraint search",
+            description = "Returns a page of the words of the length of `pattern`, having the letters of `pattern` "
+                    + "at their positions (`?` for any letter), containing all the `include` letters and none of "
+                    + "the `exclude` letters, in dictionary order.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The page of words matching the constraints.",
+                                                    value = "{\n" +
+                                                            "  \"items\": [\n" +
+                                                            "    \"balloted\",\n" +
+                                                            "    \"cathodes\",\n" +
+                                                            "    \"factored\"\n" +
+                                                            "  ],\n" +
+                                                            "  \"offset\": 0,\n" +
+                                                            "  \"limit\": 3,\n" +
+                                                            "  \"total\": 16,\n" +
+                                                            "  \"number\": 1,\n" +
+                                                            "  \"totalPages\": 6\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The `offset` or `limit` is out of range.") })
+    @GetMapping(value = "/constraints", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Page<String>> constraintSearch(
+            @Parameter(
+                    description = "One letter or `?` per position.",
+                    required = true,
+                    example = "?a??o?e?")
+            @RequestParam String pattern,
+            @Parameter(
+                    description = "The letters the words must contain.",
+                    example = "t")
+            @RequestParam(required = false) String include,
+            @Parameter(
+                    description = "The letters the words must not contain.",
+                    example = "z")
+            @RequestParam(required = false) String exclude,
+            @Parameter(
+                    description = "The offset (zero based) of the first word.",
+                    example = "0")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(
+                    description = "The maximum number of words, 1 to " + MAX_PAGE_LIMIT + ".",
+                    example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Page<String> words = this.jumbleEngine.constraintSearch(pattern, include, exclude, offset, limit);
         return new ResponseEntity<>(words, HttpStatus.OK);
     }
 
@@ -0,0 +1,147 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asynchronous variants of the heavy {@link JumbleEngine} operations.
+ *
+ * <p>Operations run on a dedicated, bounded executor (see
+ * {@code AppConfig#engineExecutor}), acting as a bulkhead so that slow scans
+ * cannot exhaust the servlet worker pool. Each operation honours a
+ * {@link Deadline}: the scan stops cooperatively when it expires and yields a
+ * partial result.
+ */
+@Component
+public class AsyncJumbleEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncJumbleEngine.class);
+
+    /*
+     * Extra time granted to a task, beyond its deadline, to observe the
+     * expired deadline and hand back its partial result.
+     */
+    private static final long GRACE_MILLIS = 50L;
+
+    private final JumbleEngine engine;
+
+    private final ExecutorService executor;
+
+    private final long deadlineMillis;
+
+    public AsyncJumbleEngine(
+            JumbleEngine engine,
+            @Qualifier("engineExecutor") ExecutorService executor,
+            @Value("${jumble.engine.async.deadline-ms:2000}") long deadlineMillis) {
+        this.engine = engine;
+        this.executor = executor;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * @return  A new deadline, using the configured per-request timeout.
+     */
+    public Deadline newDeadline() {
+        return Deadline.after(deadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<PartialResult<Collection<String>>> generateSubWordsAsync(
+            String word, Integer minLength, Deadline deadline) {
+        return submit(() -> engine.generateSubWords(word, minLength, deadline));
+    }
+
+    public CompletableFuture<PartialResult<Collection<String>>> searchWordsAsync(
+            Character startChar, Character endChar, Integer length, Deadline deadline) {
+        return submit(() -> engine.searchWords(startChar, endChar, length, deadline));
+    }
+
+    public CompletableFuture<PartialResult<Page<String>>> searchWordsAsync(
+            Character startChar, Character endChar, Integer length, int offset, int limit, Deadline deadline) {
+        return submit(() -> engine.searchWords(startChar, endChar, length, offset, limit, deadline));
+    }
+
+    /*
+     * Not stopped by a deadline, but quick: a game state is complete, or
+     * not given at all.
+     */
+    public CompletableFuture<PartialResult<GameState>> createGameStateAsync(Integer length, Integer minLength) {
+        return submit(() -> PartialResult.complete(engine.createGameState(length, minLength)));
+    }
+
+    /*
+     * Not stopped by a deadline either, but bounded by the number of boards
+     * generated.
+     */
+    public CompletableFuture<PartialResult<GameState>> createGridGameStateAsync(
+            int size, int targetWords, int minLength) {
+        return submit(() -> PartialResult.complete(engine.createGridGameState(size, targetWords, minLength)));
+    }
+
+    /**
+     * Waits for the `future` until shortly after the `deadline` expires.
+     *
+     * When the result is not available in time (the task was rejected by a
+     * saturated executor, or stuck in queue), the `deadline` is cancelled so
+     * that a queued or running task stops at its next check.
+     *
+     * @param future    The future returned by one of the async operations.
+     * @param deadline  The deadline given to the async operation.
+     * @return  The (possibly partial) result, or null when not available.
+     * @throws RuntimeException  The failure of the operation itself, as is
+     *         when unchecked, else wrapped in {@link IllegalStateException}.
+     */
+    public <T> PartialResult<T> await(CompletableFuture<PartialResult<T>> future, Deadline deadline) {
+        long waitNanos = deadline.remainingNanos();
+        if (waitNanos != Long.MAX_VALUE) {
+            waitNanos += TimeUnit.MILLISECONDS.toNanos(GRACE_MILLIS);
+        }
+        try {
+            return future.get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            LOG.debug("await: timed out, deadline={}", deadline);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (!(cause instanceof RejectedExecutionException)) {
+                // a bug, or a broken engine, not a busy server
+                LOG.error("await: failed, deadline={}", deadline, cause);
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Failed to execute engine operation", cause);
+            }
+            LOG.debug("await: rejected, deadline={}", deadline);
+        }
+        deadline.cancel();
+        future.cancel(false);
+        return null;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("submit: rejected, executor saturated");
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+}
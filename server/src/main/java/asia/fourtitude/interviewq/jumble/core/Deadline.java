@@ -0,0 +1,86 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request deadline with cooperative cancellation.
+ *
+ * <p>Long running scans in {@link JumbleEngine} poll {@link #isExpired()}
+ * periodically and stop early, returning whatever they have collected so far.
+ * A deadline can also be cancelled explicitly by the caller, e.g. when the
+ * caller stopped waiting for the result.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private final boolean bounded;
+
+    private volatile boolean cancelled;
+
+    private Deadline(long deadlineNanos, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Creates a deadline which expires after the given timeout from now.
+     *
+     * @param timeout  The timeout, must not be negative.
+     * @param unit     The unit of `timeout`.
+     * @return  The new deadline.
+     */
+    public static Deadline after(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Invalid timeout=[" + timeout + "], expect zero or positive");
+        }
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout), true);
+    }
+
+    /**
+     * Creates a deadline which never expires, unless cancelled.
+     *
+     * @return  The new unbounded deadline.
+     */
+    public static Deadline none() {
+        return new Deadline(0L, false);
+    }
+
+    public boolean isExpired() {
+        return cancelled || (bounded && System.nanoTime() - deadlineNanos >= 0);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return  The remaining time in nanoseconds, zero when expired,
+     *          or {@link Long#MAX_VALUE} when unbounded.
+     */
+    public long remainingNanos() {
+        if (cancelled) {
+            return 0L;
+        }
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0L, deadlineNanos - System.nanoTime());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("bounded=[").append(bounded).append(']');
+        if (bounded) {
+            sb.append(", remainingMs=[").append(TimeUnit.NANOSECONDS.toMillis(remainingNanos())).append(']');
+        }
+        sb.append(", cancelled=[").append(cancelled).append(']');
+        return sb.toString();
+    }
+
+}
@@ -15,10 +15,20 @@ public /* record */ class GameState {
 
     private final Map<String, Boolean> subWords;
 
+    /*
+     * The number of rows of the grid, in grid mode; 0 in scramble mode.
+     */
+    private final int gridSize;
+
     public GameState(String original, String scramble, Map<String, Boolean> subWords) {
+        this(original, scramble, subWords, 0);
+    }
+
+    public GameState(String original, String scramble, Map<String, Boolean> subWords, int gridSize) {
         this.original = original;
         this.scramble = scramble;
         this.subWords = subWords;
+        this.gridSize = gridSize;
     }
 
     public String getOriginal() {
@@ -37,6 +47,29 @@ public /* record */ class GameState {
         return subWords;
     }
 
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * @return  true in grid mode, where the letters (`original`) form a
+     *          square grid, and are not scrambled between plays.
+     */
+    public boolean isGrid() {
+        return gridSize > 0;
+    }
+
+    /**
+     * @return  The rows of the grid, in grid mode; otherwise empty.
+     */
+    public List<String> getGridRows() {
+        List<String> rows = new ArrayList<>();
+        for (int ix = 0; gridSize > 0 && ix + gridSize <= original.length(); ix += gridSize) {
+            rows.add(original.substring(ix, ix + gridSize));
+        }
+        return rows;
+    }
+
     public String getScrambleAsDisplay() {
         List<String> list = new ArrayList<>();
         for (char ch : this.scramble.toCharArray()) {
@@ -1,20 +1,86 @@
 package asia.fourtitude.interviewq.jumble.core;
 
-import asia.fourtitude.interviewq.jumble.core.words.Word;
+import asia.fourtitude.interviewq.jumble.core.words.AnagramIndex;
+import asia.fourtitude.interviewq.jumble.core.words.PositionIndex;
+import asia.fourtitude.interviewq.jumble.core.words.SearchIndex;
+import asia.fourtitude.interviewq.jumble.core.words.SuffixIndex;
+import asia.fourtitude.interviewq.jumble.core.words.TrigramIndex;
+import asia.fourtitude.interviewq.jumble.core.words.WordTrie;
 import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.nio.CharBuffer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
 
 @Component
 public class JumbleEngine {
 
+    /*
+     * Scan loops poll the deadline once every (CHECK_INTERVAL_MASK + 1) words,
+     * so that the check itself stays off the per-word hot path.
+     */
+    private static final int CHECK_INTERVAL_MASK = 1023;
+
+    /**
+     * The largest edit distance accepted by {@link #fuzzyMatch(String, int)};
+     * beyond it nearly every short word matches.
+     */
+    public static final int MAX_FUZZY_DISTANCE = 3;
+
+    private static final int SUGGEST_WIDE_LENGTH = 6;
+
+    /**
+     * The range of grid sizes (rows and columns) of the grid mode; a grid
+     * fits the 64 bits of a long.
+     */
+    public static final int MIN_GRID_SIZE = 3;
+
+    public static final int MAX_GRID_SIZE = 8;
+
+    private static final int GRID_ATTEMPTS = 64;
+
+    private static final int LETTERS = 26;
+
+    /**
+     * The most tiles in a rack accepted by {@link #scoredSubWords(String, int, int[], int)}.
+     */
+    public static final int MAX_RACK_TILES = 15;
+
+    /*
+     * The standard English Scrabble letter values, 'a' to 'z'.
+     */
+    private static final int[] SCRABBLE_LETTER_VALUES = {
+            1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10 };
+
+    private static final int MAX_SUGGESTIONS = 3;
+
     private final WordsRepository wordsRepository;
 
+    private final PhraseAnagramSolver phraseAnagramSolver;
+
+    private volatile int[] letterFrequencies;
+
+    /**
+     * An engine searching phrase anagrams on the common fork/join pool, for
+     * use outside of the application (tests, benchmarks, batch mode).
+     *
+     * @param wordsRepository  The dictionary.
+     */
     public JumbleEngine(WordsRepository wordsRepository) {
+        this(wordsRepository, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param wordsRepository    The dictionary.
+     * @param phraseAnagramPool  The pool the phrase anagram search forks its branches on.
+     */
+    @Autowired(required = true)
+    public JumbleEngine(WordsRepository wordsRepository, ForkJoinPool phraseAnagramPool) {
         this.wordsRepository = wordsRepository;
+        this.phraseAnagramSolver = new PhraseAnagramSolver(wordsRepository, phraseAnagramPool);
     }
 
     // -----------------------------------------------------------------------
@@ -49,25 +115,21 @@ public class JumbleEngine {
             return word;
         }
         String normalised = normalise(word);
-        boolean found = wordsRepository.getWordsAsList().stream()
-                .anyMatch(w -> w.getValue().equals(normalised));
-        if (!found) {
+        if (wordsRepository.idOf(normalised) < 0) {
             throw new IllegalArgumentException("Word not found in dictionary: " + word);
         }
-        List<Character> chars = new ArrayList<>();
-        for (char c : normalised.toCharArray()) {
-            chars.add(c);
-        }
-        String shuffled;
+        // Fisher-Yates on the letters, in place
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = normalised.toCharArray();
         do {
-            Collections.shuffle(chars);
-            StringBuilder sb = new StringBuilder(chars.size());
-            for (char c : chars) {
-                sb.append(c);
+            for (int ix = chars.length - 1; ix > 0; ix -= 1) {
+                int jx = random.nextInt(ix + 1);
+                char c = chars[ix];
+                chars[ix] = chars[jx];
+                chars[jx] = c;
             }
-            shuffled = sb.toString();
-        } while (shuffled.equals(normalised));
-        return shuffled;
+        } while (normalised.contentEquals(CharBuffer.wrap(chars)));
+        return new String(chars);
     }
 
     /**
@@ -88,10 +150,23 @@ public class JumbleEngine {
      * @see "https://www.google.com/search?q=palindrome+meaning"
      */
     public Collection<String> retrievePalindromeWords() {
-        return wordsRepository.getWordsAsList().stream()
-                .filter(Word::isPalindrome)
-                .map(Word::getValue)
-                .collect(Collectors.toList());
+        return toValues(wordsRepository.getPalindromeIds(), 0, wordsRepository.getPalindromeIds().length);
+    }
+
+    /**
+     * Retrieves one page of the palindrome words, sliced directly from the
+     * palindrome index.
+     *
+     * @param offset  The offset (zero based) of first word in page.
+     * @param limit   The maximum number of words in page.
+     * @return  The page of palindrome words, with total count.
+     */
+    public Page<String> retrievePalindromeWords(int offset, int limit) {
+        Page.checkSlice(offset, limit);
+        int[] ids = wordsRepository.getPalindromeIds();
+        int from = Math.min(offset, ids.length);
+        int to = (int) Math.min((long) offset + limit, ids.length);
+        return new Page<>(toValues(ids, from, to), offset, limit, ids.length);
     }
 
     /**
@@ -108,18 +183,27 @@ public class JumbleEngine {
      *          Or null if none matching.
      */
     public String pickOneRandomWord(Integer length) {
-        List<Word> candidates;
+        int size = wordsRepository.size();
         if (length == null) {
-            candidates = wordsRepository.getWordsAsList();
-        } else {
-            candidates = wordsRepository.getWordsAsList().stream()
-                    .filter(w -> w.getLength() == length)
-                    .collect(Collectors.toList());
+            return size == 0 ? null : wordsRepository.getValue(ThreadLocalRandom.current().nextInt(size));
+        }
+        // count, then walk to the picked one: no list of candidates
+        int count = 0;
+        for (int id = 0; id < size; id += 1) {
+            if (wordsRepository.getValue(id).length() == length) {
+                count += 1;
+            }
         }
-        if (candidates.isEmpty()) {
+        if (count == 0) {
             return null;
         }
-        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size())).getValue();
+        int pick = ThreadLocalRandom.current().nextInt(count);
+        for (int id = 0; ; id += 1) {
+            String value = wordsRepository.getValue(id);
+            if (value.length() == length && pick-- == 0) {
+                return value;
+            }
+        }
     }
 
     /**
@@ -139,13 +223,126 @@ public class JumbleEngine {
             return false;
         }
         String normalised = normalise(word);
+        for (int ix = 0; ix < normalised.length(); ix += 1) {
+            if (!Character.isLetter(normalised.charAt(ix))) {
+                return false;
+            }
+        }
+        return wordsRepository.idOf(normalised) >= 0;
+    }
+
+    /**
+     * Finds the words in internal word list within `maxDistance` edits
+     * (insert, delete, substitute, or swap two adjacent letters) of `word`.
+     * Matching is case insensitive.
+     *
+     * Invalid `word` (null, blank, non letter) or `maxDistance` outside
+     * 0 to {@link #MAX_FUZZY_DISTANCE} will return empty result.
+     *
+     * @param word         The input word to match.
+     * @param maxDistance  The maximum edit distance, inclusive.
+     * @return  The matching words and their distance, nearest first, then in dictionary order.
+     */
+    public Map<String, Integer> fuzzyMatch(String word, int maxDistance) {
+        if (word == null || word.trim().isEmpty() || maxDistance < 0 || maxDistance > MAX_FUZZY_DISTANCE) {
+            return Collections.emptyMap();
+        }
+        String normalised = normalise(word);
         for (char c : normalised.toCharArray()) {
             if (!Character.isLetter(c)) {
-                return false;
+                return Collections.emptyMap();
+            }
+        }
+        List<WordTrie.Match> matches = wordsRepository.getTrie().withinDistance(normalised, maxDistance);
+        matches.sort(Comparator.comparingInt(WordTrie.Match::getDistance)
+                .thenComparingInt(WordTrie.Match::getId));
+        Map<String, Integer> words = new LinkedHashMap<>();
+        for (WordTrie.Match match : matches) {
+            words.put(wordsRepository.getValue(match.getId()), match.getDistance());
+        }
+        return words;
+    }
+
+    /**
+     * Suggests the sub-words of the game, not guessed yet, that `guess` was
+     * probably meant to be: one edit away, or two for guesses of
+     * {@link #SUGGEST_WIDE_LENGTH} letters or more. Only the sub-words of
+     * the game are compared, not the dictionary.
+     *
+     * @param gameState  The game in play.
+     * @param guess      The incorrect guess.
+     * @return  The "did you mean" candidates, nearest first, then in
+     *          alphabetical order; empty when none.
+     */
+    public List<String> suggestGuesses(GameState gameState, String guess) {
+        if (guess == null || guess.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalised = normalise(guess);
+        int maxDistance = normalised.length() >= SUGGEST_WIDE_LENGTH ? 2 : 1;
+        // sub-words are shorter than the original word, or within the letters of a grid
+        int longest = gameState.getOriginal().length() - (gameState.getGridSize() > 0 ? 0 : 1);
+        if (normalised.length() > longest + maxDistance) {
+            return Collections.emptyList();
+        }
+        List<List<String>> byDistance = new ArrayList<>(maxDistance + 1);
+        for (int distance = 0; distance <= maxDistance; distance += 1) {
+            byDistance.add(new ArrayList<>());
+        }
+        int[][] rows = new int[3][normalised.length() + 1];
+        for (Map.Entry<String, Boolean> subWord : gameState.getSubWords().entrySet()) {
+            String word = subWord.getKey();
+            if (Boolean.FALSE.equals(subWord.getValue())
+                    && Math.abs(word.length() - normalised.length()) <= maxDistance) {
+                int distance = editDistance(normalised, word, rows);
+                if (distance <= maxDistance) {
+                    byDistance.get(distance).add(word);
+                }
             }
         }
-        return wordsRepository.getWordsAsList().stream()
-                .anyMatch(w -> w.getValue().equals(normalised));
+        List<String> suggestions = new ArrayList<>(MAX_SUGGESTIONS);
+        for (List<String> words : byDistance) {
+            Collections.sort(words);
+            for (String word : words) {
+                if (suggestions.size() == MAX_SUGGESTIONS) {
+                    return suggestions;
+                }
+                suggestions.add(word);
+            }
+        }
+        return suggestions;
+    }
+
+    /*
+     * The edit distance between `a` and `b`, counting an insert, delete,
+     * substitute, or swap of two adjacent letters as one edit (as
+     * `fuzzyMatch` does). Uses `rows`, three rows of a.length() + 1 cells.
+     */
+    private static int editDistance(String a, String b, int[][] rows) {
+        int[] before = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int ix = 0; ix <= a.length(); ix += 1) {
+            previous[ix] = ix;
+        }
+        for (int jx = 1; jx <= b.length(); jx += 1) {
+            char cb = b.charAt(jx - 1);
+            current[0] = jx;
+            for (int ix = 1; ix <= a.length(); ix += 1) {
+                char ca = a.charAt(ix - 1);
+                int distance = Math.min(Math.min(previous[ix], current[ix - 1]) + 1,
+                        previous[ix - 1] + (ca == cb ? 0 : 1));
+                if (ix > 1 && jx > 1 && ca == b.charAt(jx - 2) && a.charAt(ix - 2) == cb) {
+                    distance = Math.min(distance, before[ix - 2] + 1);
+                }
+                current[ix] = distance;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[a.length()];
     }
 
     /**
@@ -165,19 +362,578 @@ public class JumbleEngine {
      * @return  The list of words matching the prefix.
      */
     public Collection<String> wordsMatchingPrefix(String prefix) {
-        if (prefix == null || prefix.trim().isEmpty()) {
+        int[] range = prefixRange(prefix);
+        return toValues(range[0], range[1]);
+    }
+
+    /**
+     * Retrieves one page of the words matching `prefix`, sliced directly from
+     * the contiguous id range of the prefix in the sorted dictionary.
+     *
+     * @param prefix  The prefix to match.
+     * @param offset  The offset (zero based) of first word in page.
+     * @param limit   The maximum number of words in page.
+     * @return  The page of words matching the prefix, with total count.
+     */
+    public Page<String> wordsMatchingPrefix(String prefix, int offset, int limit) {
+        Page.checkSlice(offset, limit);
+        int[] range = prefixRange(prefix);
+        int total = range[1] - range[0];
+        int from = range[0] + Math.min(offset, total);
+        int to = (int) Math.min((long) range[0] + offset + limit, range[1]);
+        return new Page<>(toValues(from, to), offset, limit, total);
+    }
+
+    /**
+     * Retrieves one page of the words ending with `suffix`, in rhyme order
+     * (sorted by the reversed word, so words sharing a longer ending, such
+     * as the "-light" words, sit together). Matching is case insensitive.
+     *
+     * Invalid `suffix` (null, blank, non letter) will return empty page.
+     *
+     * @param suffix  The suffix to match, e.g. "ight".
+     * @param offset  The offset (zero based) of first word in page.
+     * @param limit   The maximum number of words in page.
+     * @return  The page of words matching the suffix, with total count.
+     */
+    public Page<String> wordsMatchingSuffix(String suffix, int offset, int limit) {
+        Page.checkSlice(offset, limit);
+        if (!isLetters(suffix)) {
+            return new Page<>(Collections.emptyList(), offset, limit, 0);
+        }
+        SuffixIndex suffixIndex = wordsRepository.getSuffixIndex();
+        int[] range = suffixIndex.suffixRange(normalise(suffix));
+        int total = range[1] - range[0];
+        int from = range[0] + Math.min(offset, total);
+        int to = (int) Math.min((long) range[0] + offset + limit, range[1]);
+        List<String> words = new ArrayList<>(to - from);
+        for (int position = from; position < to; position += 1) {
+            words.add(wordsRepository.getValue(suffixIndex.idAt(position)));
+        }
+        return new Page<>(words, offset, limit, total);
+    }
+
+    /**
+     * Retrieves one page of the words beginning with `prefix` and ending
+     * with `suffix`, in dictionary order. Matching is case insensitive.
+     *
+     * Both are contiguous ranges (of ids, and of rhyme order); the smaller
+     * range is walked and each word checked against the other affix.
+     * Invalid `prefix` or `suffix` (null, blank, non letter) will return
+     * empty page.
+     *
+     * @param prefix  The prefix to match.
+     * @param suffix  The suffix to match.
+     * @param offset  The offset (zero based) of first word in page.
+     * @param limit   The maximum number of words in page.
+     * @return  The page of words matching both, with total count.
+     */
+    public Page<String> wordsMatchingPrefixAndSuffix(String prefix, String suffix, int offset, int limit) {
+        Page.checkSlice(offset, limit);
+        if (!isLetters(prefix) || !isLetters(suffix)) {
+            return new Page<>(Collections.emptyList(), offset, limit, 0);
+        }
+        String normalisedPrefix = normalise(prefix);
+        String normalisedSuffix = normalise(suffix);
+        int[] prefixRange = wordsRepository.prefixRange(normalisedPrefix);
+        SuffixIndex suffixIndex = wordsRepository.getSuffixIndex();
+        int[] suffixRange = suffixIndex.suffixRange(normalisedSuffix);
+        int[] ids;
+        int count = 0;
+        if (prefixRange[1] - prefixRange[0] <= suffixRange[1] - suffixRange[0]) {
+            ids = new int[prefixRange[1] - prefixRange[0]];
+            for (int id = prefixRange[0]; id < prefixRange[1]; id += 1) {
+                if (wordsRepository.getValue(id).endsWith(normalisedSuffix)) {
+                    ids[count++] = id;
+                }
+            }
+        } else {
+            ids = new int[suffixRange[1] - suffixRange[0]];
+            for (int position = suffixRange[0]; position < suffixRange[1]; position += 1) {
+                int id = suffixIndex.idAt(position);
+                if (id >= prefixRange[0] && id < prefixRange[1]) {
+                    ids[count++] = id;
+                }
+            }
+            Arrays.sort(ids, 0, count);
+        }
+        int from = Math.min(offset, count);
+        int to = (int) Math.min((long) offset + limit, count);
+        return new Page<>(toValues(ids, from, to), offset, limit, count);
+    }
+
+    /**
+     * Retrieves one page of the words containing `fragment` anywhere, in
+     * dictionary order. Matching is case insensitive.
+     *
+     * Fragments of 3 letters or more are looked up in the trigram index and
+     * only its candidates are checked; shorter fragments match too large a
+     * share of the dictionary for an index to pay off, and are scanned.
+     * Invalid `fragment` (null, blank, non letter) will return empty page.
+     *
+     * @param fragment  The fragment to find, e.g. "ough".
+     * @param offset    The offset (zero based) of first word in page.
+     * @param limit     The maximum number of words in page.
+     * @return  The page of words containing the fragment, with total count.
+     */
+    public Page<String> wordsContaining(String fragment, int offset, int limit) {
+        Page.checkSlice(offset, limit);
+        if (!isLetters(fragment)) {
+            return new Page<>(Collections.emptyList(), offset, limit, 0);
+        }
+        String normalised = normalise(fragment);
+        int[] ids;
+        int count = 0;
+        if (normalised.length() >= TrigramIndex.GRAM) {
+            ids = wordsRepository.getTrigramIndex().candidates(normalised);
+            for (int id : ids) {
+                if (normalised.length() == TrigramIndex.GRAM
+                        || wordsRepository.getValue(id).contains(normalised)) {
+                    ids[count++] = id;
+                }
+            }
+        } else {
+            ids = new int[wordsRepository.size()];
+            for (int id = 0; id < ids.length; id += 1) {
+                if (wordsRepository.getValue(id).contains(normalised)) {
+                    ids[count++] = id;
+                }
+            }
+        }
+        int from = Math.min(offset, count);
+        int to = (int) Math.min((long) offset + limit, count);
+        return new Page<>(toValues(ids, from, to), offset, limit, count);
+    }
+
+    /**
+     * Finds the words in internal word list which are exact anagrams of
+     * `letters`, i.e. use every letter exactly once (including `letters`
+     * itself, when it is a word). Matching is case insensitive.
+     *
+     * Invalid `letters` (null, blank, non letter) will return empty list.
+     *
+     * @param letters  The letters, e.g. "least".
+     * @return  The anagrams, in dictionary order.
+     */
+    public List<String> anagramsOf(String letters) {
+        if (!isLetters(letters)) {
+            return Collections.emptyList();
+        }
+        String signature = AnagramIndex.signatureOf(normalise(letters));
+        if (signature == null) {
+            return Collections.emptyList();
+        }
+        int[] ids = wordsRepository.getAnagramIndex().idsOf(signature);
+        return toValues(ids, 0, ids.length);
+    }
+
+    /**
+     * Finds a shortest word ladder from `from` to `to`: a chain of words of
+     * the same length, each changing one letter of the previous, e.g. "cold",
+     * "cord", "card", "ward", "warm". Matching is case insensitive.
+     *
+     * Words not in the internal word list, or differing in length, will
+     * return empty list.
+     *
+     * @param from  The first word.
+     * @param to    The last word.
+     * @return  The words of the ladder, `from` first and `to` last; empty
+     *          when there is none.
+     */
+    public List<String> wordLadder(String from, String to) {
+        if (!isLetters(from) || !isLetters(to)) {
+            return Collections.emptyList();
+        }
+        int fromId = wordsRepository.idOf(normalise(from));
+        int toId = wordsRepository.idOf(normalise(to));
+        if (fromId < 0 || toId < 0) {
+            return Collections.emptyList();
+        }
+        int[] ids = wordsRepository.getLadderIndex().shortestPath(fromId, toId);
+        return toValues(ids, 0, ids.length);
+    }
+
+    /**
+     * Retrieves the largest anagram families: the sets of two words or more
+     * sharing the same letters, ranked once when the dictionary is loaded.
+     *
+     * @param limit  The maximum number of families, up to {@link AnagramIndex#MAX_FAMILIES}.
+     * @return  The families by their sorted letters, largest first.
+     */
+    public Map<String, List<String>> anagramFamilies(int limit) {
+        AnagramIndex anagramIndex = wordsRepository.getAnagramIndex();
+        List<String> signatures = anagramIndex.getLargestFamilies();
+        Map<String, List<String>> families = new LinkedHashMap<>();
+        for (String signature : signatures.subList(0, Math.max(0, Math.min(limit, signatures.size())))) {
+            int[] ids = anagramIndex.idsOf(signature);
+            families.put(signature, toValues(ids, 0, ids.length));
+        }
+        return families;
+    }
+
+    /**
+     * Finds the phrases of up to `maxWords` words (each at least `minLength`
+     * letters) which use exactly the letters of `phrase`, e.g. "dirty room"
+     * from "dormitory". Matching is case insensitive; spaces in `phrase` are
+     * ignored.
+     *
+     * Each combination of words is returned once, longest word first. The
+     * search is stopped, and the result partial, once `cap` phrases are
+     * found or the `deadline` expires. Invalid `phrase` (null, blank, non
+     * letter, over 64 letters) will return empty result.
+     *
+     * @param phrase     The letters to use.
+     * @param maxWords   The maximum number of words in a phrase.
+     * @param minLength  The minimum length of a word in a phrase.
+     * @param cap        The maximum number of phrases.
+     * @param deadline   The deadline to stop searching.
+     * @return  The phrases found, possibly partial.
+     */
+    public PartialResult<List<String>> phraseAnagrams(
+            String phrase, int maxWords, int minLength, int cap, Deadline deadline) {
+        String letters = phrase == null ? "" : normalise(phrase).replaceAll("\\s+", "");
+        if (!isLetters(letters) || letters.length() > PhraseAnagramSolver.MAX_LETTERS) {
+            return PartialResult.complete(Collections.emptyList());
+        }
+        return phraseAnagramSolver.solve(letters, maxWords, Math.max(1, minLength), cap, deadline);
+    }
+
+    /**
+     * @return  A copy of the default letter values (standard English Scrabble), 'a' to 'z'.
+     */
+    public static int[] defaultLetterValues() {
+        return SCRABBLE_LETTER_VALUES.clone();
+    }
+
+    /**
+     * Finds the best scoring words playable from a `rack` of tiles, where
+     * '?' or '_' is a blank tile standing for any letter. A word scores the
+     * sum of `letterValues` of the letters played from real tiles; blanks
+     * score nothing. Matching is case insensitive.
+     *
+     * The words are found by walking the prefix tree with the tiles left,
+     * and the best `limit` are kept in a bounded min-heap. Invalid `rack`
+     * (null, blank, other than letters and blanks, over
+     * {@link #MAX_RACK_TILES} tiles) will return empty list.
+     *
+     * @param rack          The tiles, e.g. "retai?s".
+     * @param minLength     The minimum length of a word.
+     * @param letterValues  The value of each letter 'a' to 'z' (26 values), e.g. {@link #defaultLetterValues()}.
+     * @param limit         The maximum number of words.
+     * @return  The words, highest score first, then in dictionary order.
+     */
+    public List<ScoredWord> scoredSubWords(String rack, int minLength, int[] letterValues, int limit) {
+        if (letterValues == null || letterValues.length != 26) {
+            throw new IllegalArgumentException("letterValues must hold 26 values");
+        }
+        if (rack == null || rack.trim().isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String normalised = normalise(rack);
+        if (normalised.length() > MAX_RACK_TILES) {
+            return Collections.emptyList();
+        }
+        int[] counts = new int[26];
+        int blanks = 0;
+        for (char c : normalised.toCharArray()) {
+            if (c == '?' || c == '_') {
+                blanks += 1;
+            } else if (SearchIndex.letterOf(c) != SearchIndex.ANY) {
+                counts[c - 'a'] += 1;
+            } else {
+                return Collections.emptyList();
+            }
+        }
+
+        // min-heap: the weakest of the best `limit` on top
+        Comparator<ScoredWord> ranking = Comparator.comparingInt(ScoredWord::getScore).reversed()
+                .thenComparing(ScoredWord::getWord);
+        PriorityQueue<ScoredWord> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        wordsRepository.getTrie().spell(counts, blanks, (id, blanked) -> {
+            String word = wordsRepository.getValue(id);
+            if (word.length() < minLength) {
+                return;
+            }
+            int score = 0;
+            for (int ix = 0; ix < word.length(); ix += 1) {
+                score += letterValues[word.charAt(ix) - 'a'];
+            }
+            for (int ix = 0; ix < blanked.length(); ix += 1) {
+                score -= letterValues[blanked.charAt(ix) - 'a'];
+            }
+            if (best.size() == limit && score < best.peek().getScore()) {
+                return;
+            }
+            best.add(new ScoredWord(word, score, blanked.toString()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        List<ScoredWord> words = new ArrayList<>(best);
+        words.sort(ranking);
+        return words;
+    }
+
+    /**
+     * Finds all the words (of at least `minLength` letters) traceable in a
+     * square grid of letters through adjacent cells, including diagonals,
+     * each cell used at most once per word.
+     *
+     * @param cells      The letters of the grid, row by row; case insensitive.
+     * @param size       The number of rows (and columns), {@link #MIN_GRID_SIZE} to {@link #MAX_GRID_SIZE}.
+     * @param minLength  The minimum length of a word.
+     * @return  The words found, in dictionary order; empty when the size is
+     *          out of range, or the cells are not `size` * `size` letters.
+     */
+    public List<String> solveGrid(String cells, int size, int minLength) {
+        if (size < MIN_GRID_SIZE || size > MAX_GRID_SIZE || !isLetters(cells)) {
+            return Collections.emptyList();
+        }
+        String normalised = normalise(cells);
+        if (normalised.length() != size * size) {
             return Collections.emptyList();
         }
+        int[] ids = wordsRepository.getTrie().traceGrid(normalised, size, minLength);
+        return toValues(ids, 0, ids.length);
+    }
+
+    /**
+     * Generates a square grid of letters holding about `targetWords` words
+     * of at least `minLength` letters. Letters are drawn at the frequency
+     * they have in the dictionary; of a bounded number of random boards,
+     * the first within 10% of the target is taken, else the closest one.
+     *
+     * @param size         The number of rows (and columns), {@link #MIN_GRID_SIZE} to {@link #MAX_GRID_SIZE}.
+     * @param targetWords  The number of words wanted in the grid.
+     * @param minLength    The minimum length of a word.
+     * @return  The letters of the grid, row by row.
+     */
+    public String generateGrid(int size, int targetWords, int minLength) {
+        return generateBoard(size, targetWords, minLength).cells;
+    }
+
+    /**
+     * Creates a game of the grid mode: a generated grid, see
+     * {@link #generateGrid(int, int, int)}, with the words to find in it.
+     *
+     * @param size         The number of rows (and columns).
+     * @param targetWords  The number of words wanted in the grid.
+     * @param minLength    The minimum length of a word.
+     * @return  The game state, whose original (and scramble) are the grid letters.
+     */
+    public GameState createGridGameState(int size, int targetWords, int minLength) {
+        // the words traced while generating, not traced again
+        GridBoard board = generateBoard(size, targetWords, minLength);
+        Map<String, Boolean> subWords = new TreeMap<>();
+        for (int id : board.ids) {
+            subWords.put(wordsRepository.getValue(id), Boolean.FALSE);
+        }
+        return new GameState(board.cells, board.cells, subWords, size);
+    }
+
+    /*
+     * A generated grid, and the ids of the words traceable in it.
+     */
+    private static final class GridBoard {
+
+        final String cells;
+
+        final int[] ids;
+
+        GridBoard(String cells, int[] ids) {
+            this.cells = cells;
+            this.ids = ids;
+        }
+
+    }
+
+    private GridBoard generateBoard(int size, int targetWords, int minLength) {
+        if (size < MIN_GRID_SIZE || size > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Invalid size=[" + size + "], expect "
+                    + MIN_GRID_SIZE + " to " + MAX_GRID_SIZE);
+        }
+        int[] cumulative = letterFrequencies();
+        int total = cumulative[cumulative.length - 1];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        WordTrie trie = wordsRepository.getTrie();
+        int tolerance = Math.max(2, targetWords / 10);
+        GridBoard best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        char[] cells = new char[size * size];
+        for (int attempt = 0; attempt < GRID_ATTEMPTS && bestDistance > tolerance; attempt += 1) {
+            for (int cell = 0; cell < cells.length; cell += 1) {
+                int pick = random.nextInt(total);
+                int letter = 0;
+                while (cumulative[letter] <= pick) {
+                    letter += 1;
+                }
+                cells[cell] = (char) ('a' + letter);
+            }
+            String grid = new String(cells);
+            int[] ids = trie.traceGrid(grid, size, minLength);
+            int distance = Math.abs(ids.length - targetWords);
+            if (distance < bestDistance) {
+                best = new GridBoard(grid, ids);
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /*
+     * The cumulative counts of the letters 'a' to 'z' over the dictionary,
+     * computed on first use.
+     */
+    private int[] letterFrequencies() {
+        int[] cumulative = this.letterFrequencies;
+        if (cumulative == null) {
+            cumulative = new int[26];
+            for (int id = 0; id < wordsRepository.size(); id += 1) {
+                String value = wordsRepository.getValue(id);
+                for (int ix = 0; ix < value.length(); ix += 1) {
+                    int letter = SearchIndex.letterOf(value.charAt(ix));
+                    if (letter != SearchIndex.ANY) {
+                        cumulative[letter] += 1;
+                    }
+                }
+            }
+            for (int letter = 1; letter < cumulative.length; letter += 1) {
+                cumulative[letter] += cumulative[letter - 1];
+            }
+            this.letterFrequencies = cumulative;
+        }
+        return cumulative;
+    }
+
+    /*
+     * True when `input` is non blank and letters only.
+     */
+    private boolean isLetters(String input) {
+        if (input == null || input.trim().isEmpty()) {
+            return false;
+        }
+        for (char c : normalise(input).toCharArray()) {
+            if (!Character.isLetter(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the `limit` highest weighted words beginning with `prefix`,
+     * i.e. the most common completions when the dictionary carries
+     * frequencies. Ties (and unweighted dictionaries) fall back to
+     * dictionary order. The prefix tree prunes by per-node max weight, so
+     * the cost grows with `limit`, not with the number of matching words.
+     *
+     * @param prefix  The prefix to match.
+     * @param limit   The maximum number of words.
+     * @return  The matching words, heaviest first.
+     */
+    public List<String> topWordsMatchingPrefix(String prefix, int limit) {
+        int[] range = prefixRange(prefix);
+        if (limit <= 0 || range[0] == range[1]) {
+            return Collections.emptyList();
+        }
+        WordTrie trie = wordsRepository.getTrie();
+        List<Integer> ids = trie.topK(trie.find(normalise(prefix)), limit);
+        List<String> words = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            words.add(wordsRepository.getValue(id));
+        }
+        return words;
+    }
+
+    /**
+     * Retrieves one page of the words matching a wildcard `pattern`, where
+     * '?' matches exactly one letter and '*' any number of letters.
+     * Matching is case insensitive.
+     *
+     * Patterns without '*' have a fixed length and are resolved by the
+     * per-position letter index; the others by walking the prefix tree from
+     * their leading letters. Invalid `pattern` (null, blank, other than
+     * letters, '?' and '*') will return empty page.
+     *
+     * @param pattern  The wildcard pattern, e.g. "c?t*" or "??ll?".
+     * @param offset   The offset (zero based) of first word in page.
+     * @param limit    The maximum number of words in page.
+     * @return  The page of words matching, in dictionary order, with total count.
+     */
+    public Page<String> wildcardSearch(String pattern, int offset, int limit) {
+        Page.checkSlice(offset, limit);
+        if (pattern == null || pattern.trim().isEmpty()) {
+            return new Page<>(Collections.emptyList(), offset, limit, 0);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (char c : normalise(pattern).toCharArray()) {
+            if (c != '?' && c != '*' && SearchIndex.letterOf(c) == SearchIndex.ANY) {
+                return new Page<>(Collections.emptyList(), offset, limit, 0);
+            }
+            if (c != '*' || sb.length() == 0 || sb.charAt(sb.length() - 1) != '*') {
+                sb.append(c);
+            }
+        }
+        String normalised = sb.toString();
+        if (normalised.indexOf('*') < 0) {
+            PositionIndex.Selection selection = wordsRepository.getPositionIndex().select(normalised.toCharArray());
+            int[] ids = selection.ids(offset, limit);
+            return new Page<>(toValues(ids, 0, ids.length), offset, limit, selection.count());
+        }
+        int[] ids = wordsRepository.getTrie().matchPattern(normalised);
+        int from = Math.min(offset, ids.length);
+        int to = (int) Math.min((long) offset + limit, ids.length);
+        return new Page<>(toValues(ids, from, to), offset, limit, ids.length);
+    }
+
+    /**
+     * Retrieves one page of the words of a fixed length matching positional
+     * letters, such as for a crossword: the words matching `pattern` (one
+     * letter or '?' per position) that contain every letter of `included`
+     * and none of `excluded`, anywhere. Matching is case insensitive.
+     *
+     * Resolved by AND/AND-NOT of per-position and per-letter bitmaps, and
+     * read back in dictionary order. Invalid input (null/blank `pattern`,
+     * non letter) will return empty page.
+     *
+     * @param pattern   The letters or '?', e.g. "?a??e??" for 7 letters with 'a' second and 'e' fifth.
+     * @param included  The letters required anywhere, or null.
+     * @param excluded  The letters not allowed anywhere, or null.
+     * @param offset    The offset (zero based) of first word in page.
+     * @param limit     The maximum number of words in page.
+     * @return  The page of words matching, with total count.
+     */
+    public Page<String> constraintSearch(String pattern, String included, String excluded, int offset, int limit) {
+        Page.checkSlice(offset, limit);
+        if (pattern == null || pattern.trim().isEmpty()) {
+            return new Page<>(Collections.emptyList(), offset, limit, 0);
+        }
+        int includedMask = PositionIndex.maskOf(included == null ? "" : normalise(included));
+        int excludedMask = PositionIndex.maskOf(excluded == null ? "" : normalise(excluded));
+        if (includedMask < 0 || excludedMask < 0) {
+            return new Page<>(Collections.emptyList(), offset, limit, 0);
+        }
+        PositionIndex.Selection selection = wordsRepository.getPositionIndex()
+                .select(normalise(pattern).toCharArray(), includedMask, excludedMask);
+        int[] ids = selection.ids(offset, limit);
+        return new Page<>(toValues(ids, 0, ids.length), offset, limit, selection.count());
+    }
+
+    /*
+     * Returns the id range {from, to} of words matching `prefix`,
+     * or an empty range when `prefix` is invalid.
+     */
+    private int[] prefixRange(String prefix) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return new int[] { 0, 0 };
+        }
         String normalised = normalise(prefix);
         for (char c : normalised.toCharArray()) {
             if (!Character.isLetter(c)) {
-                return Collections.emptyList();
+                return new int[] { 0, 0 };
             }
         }
-        return wordsRepository.getWordsAsList().stream()
-                .filter(w -> w.getValue().startsWith(normalised))
-                .map(Word::getValue)
-                .collect(Collectors.toList());
+        return wordsRepository.prefixRange(normalised);
     }
 
     /**
@@ -205,24 +961,81 @@ public class JumbleEngine {
      * @return  The list of words matching the searching criteria.
      */
     public Collection<String> searchWords(Character startChar, Character endChar, Integer length) {
+        return searchWords(startChar, endChar, length, Deadline.none()).getValue();
+    }
+
+    /**
+     * Same as {@link #searchWords(Character, Character, Integer)}, but stops
+     * scanning once the `deadline` expires.
+     *
+     * @param startChar  The first character of the word to search for.
+     * @param endChar    The last character of the word to match with.
+     * @param length     The length of the word to match.
+     * @param deadline   The deadline to honour, polled periodically while scanning.
+     * @return  The words matching the searching criteria, which is partial
+     *          when the deadline expired before the scan completed.
+     */
+    public PartialResult<Collection<String>> searchWords(Character startChar, Character endChar, Integer length, Deadline deadline) {
+        PartialResult<Page<String>> page = searchWords(startChar, endChar, length, 0, Integer.MAX_VALUE, deadline);
+        return new PartialResult<>(page.getValue().getItems(), page.isComplete());
+    }
+
+    /**
+     * Retrieves one page of the words matching the searching criteria of
+     * {@link #searchWords(Character, Character, Integer)}.
+     *
+     * The total count comes from the search index, and the page is sliced
+     * from the smallest posting list among the given criteria, stopping as
+     * soon as the page is filled.
+     *
+     * @param startChar  The first character of the word to search for.
+     * @param endChar    The last character of the word to match with.
+     * @param length     The length of the word to match.
+     * @param offset     The offset (zero based) of first word in page.
+     * @param limit      The maximum number of words in page.
+     * @param deadline   The deadline to honour, polled periodically while scanning.
+     * @return  The page of matching words, which is partial when the
+     *          deadline expired before the page is filled.
+     */
+    public PartialResult<Page<String>> searchWords(Character startChar, Character endChar, Integer length,
+            int offset, int limit, Deadline deadline) {
+        Page.checkSlice(offset, limit);
         boolean validStart  = startChar != null && Character.isLetter(startChar);
         boolean validEnd    = endChar   != null && Character.isLetter(endChar);
         boolean validLength = length    != null && length >= 1;
 
         // At least one input must be valid
         if (!validStart && !validEnd && !validLength) {
-            return Collections.emptyList();
+            return PartialResult.complete(new Page<>(Collections.emptyList(), offset, limit, 0));
         }
 
-        Character normStart = validStart ? Character.toLowerCase(startChar) : null;
-        Character normEnd   = validEnd   ? Character.toLowerCase(endChar)   : null;
+        int first = validStart ? SearchIndex.letterOf(startChar) : SearchIndex.ANY;
+        int last = validEnd ? SearchIndex.letterOf(endChar) : SearchIndex.ANY;
+        int len = validLength ? length : SearchIndex.ANY;
+        if ((validStart && first == SearchIndex.ANY) || (validEnd && last == SearchIndex.ANY)) {
+            // letter outside of 'a' to 'z', never in dictionary
+            return PartialResult.complete(new Page<>(Collections.emptyList(), offset, limit, 0));
+        }
 
-        return wordsRepository.getWordsAsList().stream()
-                .filter(w -> !validStart  || w.getPrefix().equals(normStart))
-                .filter(w -> !validEnd    || w.getPostfix().equals(normEnd))
-                .filter(w -> !validLength || w.getLength() == length)
-                .map(Word::getValue)
-                .collect(Collectors.toList());
+        SearchIndex index = wordsRepository.getSearchIndex();
+        int total = index.count(first, last, len);
+        int[] candidates = index.candidates(first, last, len);
+        List<String> items = new ArrayList<>((int) Math.min(limit, Math.max(0, (long) total - offset)));
+        int skipped = 0;
+        for (int ix = 0; ix < candidates.length && items.size() < limit && skipped + items.size() < total; ix += 1) {
+            if ((ix & CHECK_INTERVAL_MASK) == 0 && deadline.isExpired()) {
+                return PartialResult.partial(new Page<>(items, offset, limit, total));
+            }
+            int id = candidates[ix];
+            if (index.matches(id, first, last, len)) {
+                if (skipped < offset) {
+                    skipped += 1;
+                } else {
+                    items.add(wordsRepository.getValue(id));
+                }
+            }
+        }
+        return PartialResult.complete(new Page<>(items, offset, limit, total));
     }
 
     /**
@@ -251,14 +1064,28 @@ public class JumbleEngine {
      * @return  The list of sub words constructed from input `word`.
      */
     public Collection<String> generateSubWords(String word, Integer minLength) {
+        return generateSubWords(word, minLength, Deadline.none()).getValue();
+    }
+
+    /**
+     * Same as {@link #generateSubWords(String, Integer)}, but stops scanning
+     * once the `deadline` expires.
+     *
+     * @param word       The input word to use as base/seed.
+     * @param minLength  The minimum length (inclusive) of sub words.
+     * @param deadline   The deadline to honour, polled periodically while scanning.
+     * @return  The sub words constructed from input `word`, which is partial
+     *          when the deadline expired before the scan completed.
+     */
+    public PartialResult<Collection<String>> generateSubWords(String word, Integer minLength, Deadline deadline) {
         // Guard: invalid input
         if (word == null || word.trim().isEmpty()) {
-            return Collections.emptyList();
+            return PartialResult.complete(Collections.emptyList());
         }
         String normalised = normalise(word);
         for (char c : normalised.toCharArray()) {
             if (!Character.isLetter(c)) {
-                return Collections.emptyList();
+                return PartialResult.complete(Collections.emptyList());
             }
         }
 
@@ -267,51 +1094,91 @@ public class JumbleEngine {
 
         // minLength=0 or minLength >= seed length → nothing can qualify
         if (effectiveMin <= 0 || effectiveMin >= normalised.length()) {
-            return Collections.emptyList();
+            return PartialResult.complete(Collections.emptyList());
         }
 
-        // Build letter-frequency map for the seed word
-        Map<Character, Integer> seedFreq = letterFrequency(normalised);
+        // Letter counts of the seed word ('a' to 'z'; dictionary words have no other letters)
+        int[] seedCounts = letterCounts(normalised);
+        int[] counts = new int[LETTERS];
 
         // A candidate sub word qualifies when:
         //   1. Its length is between effectiveMin and seed.length - 1 (strictly shorter)
-        //   2. Every letter it needs is available in the seed's frequency map
-        return wordsRepository.getWordsAsList().stream()
-                .filter(w -> w.getLength() >= effectiveMin && w.getLength() < normalised.length())
-                .map(Word::getValue)
-                .filter(value -> isSubset(letterFrequency(value), seedFreq))
-                .collect(Collectors.toList());
+        //   2. Every letter it needs is available in the seed's letter counts
+        List<String> result = new ArrayList<>();
+        for (int id = 0; id < wordsRepository.size(); id += 1) {
+            if ((id & CHECK_INTERVAL_MASK) == 0 && deadline.isExpired()) {
+                return PartialResult.partial(result);
+            }
+            String value = wordsRepository.getValue(id);
+            if (value.length() >= effectiveMin && value.length() < normalised.length()
+                    && isSubset(value, seedCounts, counts)) {
+                result.add(value);
+            }
+        }
+        return PartialResult.complete(result);
+    }
+
+    private List<String> toValues(int[] ids, int from, int to) {
+        List<String> list = new ArrayList<>(to - from);
+        for (int ix = from; ix < to; ix += 1) {
+            list.add(wordsRepository.getValue(ids[ix]));
+        }
+        return list;
+    }
+
+    private List<String> toValues(int fromId, int toId) {
+        List<String> list = new ArrayList<>(Math.max(0, toId - fromId));
+        for (int id = fromId; id < toId; id += 1) {
+            list.add(wordsRepository.getValue(id));
+        }
+        return list;
     }
 
     /**
-     * Builds a character frequency map for the given string.
+     * Counts the letters 'a' to 'z' of the given string; other characters
+     * are not counted.
      *
      * @param s the input string (already normalised to lower-case)
-     * @return map of character → occurrence count
+     * @return the occurrence count of each letter, 'a' first
      */
-    private Map<Character, Integer> letterFrequency(String s) {
-        Map<Character, Integer> freq = new HashMap<>();
-        for (char c : s.toCharArray()) {
-            freq.merge(c, 1, Integer::sum);
+    private static int[] letterCounts(String s) {
+        int[] counts = new int[LETTERS];
+        for (int ix = 0; ix < s.length(); ix += 1) {
+            char c = s.charAt(ix);
+            if (c >= 'a' && c <= 'z') {
+                counts[c - 'a'] += 1;
+            }
         }
-        return freq;
+        return counts;
     }
 
     /**
-     * Returns {@code true} when every entry in {@code candidate} is satisfied
-     * by the available counts in {@code available}.
+     * Returns {@code true} when every letter of {@code candidate} is
+     * satisfied by the available counts in {@code available}.
      *
-     * @param candidate frequency map of the word being tested
-     * @param available frequency map of the seed word's letters
+     * @param candidate the word being tested
+     * @param available letter counts of the seed word
+     * @param scratch   all zero letter counts, left all zero on return
      * @return {@code true} if the candidate can be formed from the available letters
      */
-    private boolean isSubset(Map<Character, Integer> candidate, Map<Character, Integer> available) {
-        for (Map.Entry<Character, Integer> entry : candidate.entrySet()) {
-            if (available.getOrDefault(entry.getKey(), 0) < entry.getValue()) {
-                return false;
+    private static boolean isSubset(String candidate, int[] available, int[] scratch) {
+        boolean subset = true;
+        int ix = 0;
+        for (; ix < candidate.length(); ix += 1) {
+            int letter = candidate.charAt(ix) - 'a';
+            if (letter < 0 || letter >= LETTERS || ++scratch[letter] > available[letter]) {
+                subset = false;
+                ix += 1;
+                break;
             }
         }
-        return true;
+        for (int jx = 0; jx < ix; jx += 1) {
+            int letter = candidate.charAt(jx) - 'a';
+            if (letter >= 0 && letter < LETTERS) {
+                scratch[letter] -= 1;
+            }
+        }
+        return subset;
     }
 
     /**
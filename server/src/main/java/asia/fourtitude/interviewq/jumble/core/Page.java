@@ -0,0 +1,127 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page (offset/limit slice) of a larger result, along with the total
+ * number of items in the whole result.
+ *
+ * @param <T>  The type of items.
+ */
+public /* record */ class Page<T> {
+
+    private final List<T> items;
+
+    private final int offset;
+
+    private final int limit;
+
+    private final int total;
+
+    public Page(List<T> items, int offset, int limit, int total) {
+        this.items = items;
+        this.offset = offset;
+        this.limit = limit;
+        this.total = total;
+    }
+
+    /**
+     * Slices a fully materialised collection, for results not backed by an index.
+     *
+     * @param all     The whole result.
+     * @param offset  The offset (zero based) of first item.
+     * @param limit   The maximum items in page.
+     * @return  The page.
+     */
+    public static <T> Page<T> of(Collection<T> all, int offset, int limit) {
+        checkSlice(offset, limit);
+        if (offset >= all.size()) {
+            return new Page<>(Collections.emptyList(), offset, limit, all.size());
+        }
+        List<T> items = new ArrayList<>(Math.min(limit, all.size() - offset));
+        int ix = 0;
+        for (T item : all) {
+            if (ix >= offset + limit) {
+                break;
+            }
+            if (ix >= offset) {
+                items.add(item);
+            }
+            ix += 1;
+        }
+        return new Page<>(items, offset, limit, all.size());
+    }
+
+    /**
+     * @param pageNumber  The page number, 1 based. Null or invalid means first page.
+     * @param pageSize    The page size.
+     * @return  The offset of the first item in page.
+     */
+    public static int offsetOf(Integer pageNumber, int pageSize) {
+        if (pageNumber == null || pageNumber < 1) {
+            return 0;
+        }
+        long offset = (long) (pageNumber - 1) * pageSize;
+        return offset > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) offset;
+    }
+
+    static void checkSlice(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid offset=[" + offset + "], expect zero or positive");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Invalid limit=[" + limit + "], expect positive integer");
+        }
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return  The page number, 1 based.
+     */
+    public int getNumber() {
+        return offset / limit + 1;
+    }
+
+    public int getTotalPages() {
+        return (int) ((total + (long) limit - 1) / limit);
+    }
+
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    public boolean hasNext() {
+        return (long) offset + limit < total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("offset=[").append(offset).append(']');
+        sb.append(", limit=[").append(limit).append(']');
+        sb.append(", total=[").append(total).append(']');
+        if (items != null) {
+            sb.append(", items.size=[").append(items.size()).append(']');
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,47 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Result of an engine operation which may have been cut short by a
+ * {@link Deadline}. When not `complete`, the `value` holds only the items
+ * collected before the deadline expired.
+ *
+ * @param <T>  The type of result value.
+ */
+public /* record */ class PartialResult<T> {
+
+    private final T value;
+
+    private final boolean complete;
+
+    public PartialResult(T value, boolean complete) {
+        this.value = value;
+        this.complete = complete;
+    }
+
+    public static <T> PartialResult<T> complete(T value) {
+        return new PartialResult<>(value, true);
+    }
+
+    public static <T> PartialResult<T> partial(T value) {
+        return new PartialResult<>(value, false);
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("complete=[").append(complete).append(']');
+        if (value != null) {
+            sb.append(", value=[").append(value).append(']');
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,325 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import asia.fourtitude.interviewq.jumble.core.words.AnagramIndex;
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+
+/**
+ * Finds multi-word anagrams of a phrase, e.g. "dormitory" to "dirty room":
+ * combinations of up to N dictionary words using exactly the letters of the
+ * phrase.
+ *
+ * <p>The search runs over distinct letter sets (anagram signatures), not
+ * words, and only over those contained in the phrase. Candidates are ordered
+ * longest first and a combination only picks candidates at or after the
+ * previous one, so each combination is found once rather than once per
+ * permutation. Each top-level candidate is a separate fork/join task.
+ * Solutions are expanded to words at the end.
+ */
+class PhraseAnagramSolver {
+
+    /**
+     * The most letters of a phrase; a letter may occur up to 15 times.
+     */
+    static final int MAX_LETTERS = 64;
+
+    private static final int CHECK_INTERVAL_MASK = 1023;
+
+    private final WordsRepository wordsRepository;
+
+    private final ForkJoinPool pool;
+
+    PhraseAnagramSolver(WordsRepository wordsRepository, ForkJoinPool pool) {
+        this.wordsRepository = wordsRepository;
+        this.pool = pool;
+    }
+
+    /**
+     * @param letters    The (lower case) letters of the phrase, 'a' to 'z' only.
+     * @param maxWords   The maximum number of words in a result.
+     * @param minLength  The minimum length of a word in a result.
+     * @param cap        The maximum number of results.
+     * @param deadline   The deadline to stop searching.
+     * @return  The phrases (words separated by space, longest first); partial
+     *          when capped or the deadline expired.
+     */
+    PartialResult<List<String>> solve(String letters, int maxWords, int minLength, int cap, Deadline deadline) {
+        Histogram target = Histogram.of(letters);
+        if (target == null || maxWords <= 0 || cap <= 0) {
+            return PartialResult.complete(Collections.emptyList());
+        }
+
+        // distinct signatures contained in the phrase, longest first
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (int id = 0; id < wordsRepository.size(); id += 1) {
+            String value = wordsRepository.getValue(id);
+            if (value.length() < minLength || value.length() > letters.length()) {
+                continue;
+            }
+            Histogram histogram = Histogram.of(value);
+            if (histogram != null && target.contains(histogram)) {
+                groups.computeIfAbsent(AnagramIndex.signatureOf(value), k -> new ArrayList<>()).add(value);
+            }
+        }
+        List<Candidate> candidates = new ArrayList<>(groups.size());
+        for (Map.Entry<String, List<String>> entry : groups.entrySet()) {
+            candidates.add(new Candidate(Histogram.of(entry.getKey()), entry.getValue()));
+        }
+        candidates.sort((x, y) -> {
+            int cmp = Integer.compare(y.histogram.size, x.histogram.size);
+            return cmp != 0 ? cmp : x.words.get(0).compareTo(y.words.get(0));
+        });
+
+        Search search = new Search(candidates, maxWords, cap, deadline);
+        List<ForkJoinTask<List<int[]>>> tasks = new ArrayList<>(candidates.size());
+        for (int ix = 0; ix < candidates.size(); ix += 1) {
+            tasks.add(pool.submit(new Branch(search, target, ix)));
+        }
+        List<String> phrases = new ArrayList<>();
+        for (ForkJoinTask<List<int[]>> task : tasks) {
+            for (int[] solution : task.join()) {
+                search.expand(solution, 0, new String[solution.length], 0, phrases);
+            }
+        }
+        if (phrases.size() > cap) {
+            phrases = new ArrayList<>(phrases.subList(0, cap));
+        }
+        boolean complete = !search.stopped.get() && phrases.size() < cap;
+        return complete ? PartialResult.complete(phrases) : PartialResult.partial(phrases);
+    }
+
+    private static final class Candidate {
+
+        private final Histogram histogram;
+
+        private final List<String> words;
+
+        Candidate(Histogram histogram, List<String> words) {
+            this.histogram = histogram;
+            this.words = words;
+        }
+
+    }
+
+    /*
+     * State shared by all branches of one search.
+     */
+    private static final class Search {
+
+        private final List<Candidate> candidates;
+
+        private final int maxWords;
+
+        private final int cap;
+
+        private final Deadline deadline;
+
+        private final AtomicInteger found = new AtomicInteger();
+
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        Search(List<Candidate> candidates, int maxWords, int cap, Deadline deadline) {
+            this.candidates = candidates;
+            this.maxWords = maxWords;
+            this.cap = cap;
+            this.deadline = deadline;
+        }
+
+        /*
+         * Counts the phrases a solution expands to, stopping the search
+         * once the cap is reached.
+         */
+        void record(int[] solution) {
+            long phrases = 1;
+            int run = 0;
+            for (int ix = 0; ix < solution.length; ix += 1) {
+                run = ix > 0 && solution[ix] == solution[ix - 1] ? run + 1 : 1;
+                // multisets of `run` words among the candidate's words
+                int words = candidates.get(solution[ix]).words.size();
+                phrases = phrases * (words + run - 1) / run;
+            }
+            if (found.addAndGet((int) Math.min(phrases, cap)) >= cap) {
+                stopped.set(true);
+            }
+        }
+
+        /*
+         * Expands a solution of candidates into phrases of words; repeated
+         * candidates take their words in non-decreasing order.
+         */
+        void expand(int[] solution, int pos, String[] words, int from, List<String> phrases) {
+            if (phrases.size() > cap) {
+                return;
+            }
+            if (pos == solution.length) {
+                phrases.add(String.join(" ", words));
+                return;
+            }
+            List<String> choices = candidates.get(solution[pos]).words;
+            int start = pos > 0 && solution[pos] == solution[pos - 1] ? from : 0;
+            for (int ix = start; ix < choices.size(); ix += 1) {
+                words[pos] = choices.get(ix);
+                expand(solution, pos + 1, words, ix, phrases);
+            }
+        }
+
+    }
+
+    /*
+     * All the solutions whose first (longest) candidate is `first`.
+     */
+    private static final class Branch extends RecursiveTask<List<int[]>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Search search;
+
+        private final transient Histogram target;
+
+        private final int first;
+
+        private final transient List<int[]> solutions = new ArrayList<>();
+
+        private final int[] path;
+
+        private int visited;
+
+        Branch(Search search, Histogram target, int first) {
+            this.search = search;
+            this.target = target;
+            this.first = first;
+            this.path = new int[search.maxWords];
+        }
+
+        @Override
+        protected List<int[]> compute() {
+            if (search.deadline.isExpired()) {
+                search.stopped.set(true);
+            }
+            Histogram head = search.candidates.get(first).histogram;
+            if (!search.stopped.get() && target.contains(head)) {
+                path[0] = first;
+                walk(target.minus(head), first, 1);
+            }
+            return solutions;
+        }
+
+        private void walk(Histogram remaining, int from, int depth) {
+            if (remaining.size == 0) {
+                int[] solution = new int[depth];
+                System.arraycopy(path, 0, solution, 0, depth);
+                solutions.add(solution);
+                search.record(solution);
+                return;
+            }
+            if (depth == search.maxWords) {
+                return;
+            }
+            for (int ix = from; ix < search.candidates.size(); ix += 1) {
+                if ((++visited & CHECK_INTERVAL_MASK) == 0 && search.deadline.isExpired()) {
+                    search.stopped.set(true);
+                }
+                if (search.stopped.get()) {
+                    return;
+                }
+                Histogram histogram = search.candidates.get(ix).histogram;
+                // longest first: if even this one cannot fill the rest in the words left, none can
+                if (remaining.size > histogram.size * (search.maxWords - depth)) {
+                    return;
+                }
+                if (remaining.contains(histogram)) {
+                    path[depth] = ix;
+                    walk(remaining.minus(histogram), ix, depth + 1);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Letter counts packed in 5 bit fields, 12 letters per long. The top bit
+     * of each field is a guard: with counts up to 15, subtracting one
+     * histogram from another borrows out of a field's guard exactly when
+     * that count would go negative, so a subset test is three subtractions.
+     */
+    static final class Histogram {
+
+        private static final int FIELD = 5;
+
+        private static final int PER_LONG = 12;
+
+        private static final int MAX_COUNT = 15;
+
+        private static final long GUARDS_FULL = guards(PER_LONG);
+
+        private static final long GUARDS_LAST = guards(26 - 2 * PER_LONG);
+
+        private final long a;
+
+        private final long b;
+
+        private final long c;
+
+        private final int size;
+
+        private Histogram(long a, long b, long c, int size) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.size = size;
+        }
+
+        private static long guards(int fields) {
+            long guards = 0;
+            for (int ix = 0; ix < fields; ix += 1) {
+                guards |= 1L << (ix * FIELD + FIELD - 1);
+            }
+            return guards;
+        }
+
+        /**
+         * @return  The histogram of `letters`; null when not all 'a' to 'z',
+         *          or a letter occurs more than 15 times.
+         */
+        static Histogram of(CharSequence letters) {
+            int[] counts = new int[26];
+            for (int ix = 0; ix < letters.length(); ix += 1) {
+                char ch = letters.charAt(ix);
+                if (ch < 'a' || ch > 'z' || ++counts[ch - 'a'] > MAX_COUNT) {
+                    return null;
+                }
+            }
+            long[] packed = new long[3];
+            for (int letter = 0; letter < 26; letter += 1) {
+                packed[letter / PER_LONG] |= (long) counts[letter] << ((letter % PER_LONG) * FIELD);
+            }
+            return new Histogram(packed[0], packed[1], packed[2], letters.length());
+        }
+
+        boolean contains(Histogram other) {
+            return other.size <= size
+                    && (((a | GUARDS_FULL) - other.a) & GUARDS_FULL) == GUARDS_FULL
+                    && (((b | GUARDS_FULL) - other.b) & GUARDS_FULL) == GUARDS_FULL
+                    && (((c | GUARDS_LAST) - other.c) & GUARDS_LAST) == GUARDS_LAST;
+        }
+
+        /**
+         * @return  This minus `other`, which must be {@link #contains(Histogram) contained}.
+         */
+        Histogram minus(Histogram other) {
+            return new Histogram(a - other.a, b - other.b, c - other.c, size - other.size);
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * A word played from a rack of tiles, with its score: the sum of the values
+ * of the letters played from real tiles (blank tiles score nothing).
+ */
+public /* record */ class ScoredWord {
+
+    private final String word;
+
+    private final int score;
+
+    private final String blanks;
+
+    public ScoredWord(String word, int score, String blanks) {
+        this.word = word;
+        this.score = score;
+        this.blanks = blanks;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return  The letters played with blank tiles, in word order; empty when none.
+     */
+    public String getBlanks() {
+        return blanks;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("word=[").append(word).append(']');
+        sb.append(", score=[").append(score).append(']');
+        if (!blanks.isEmpty()) {
+            sb.append(", blanks=[").append(blanks).append(']');
+        }
+        return sb.toString();
+    }
+
+}
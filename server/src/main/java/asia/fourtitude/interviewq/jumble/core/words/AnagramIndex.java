@@ -0,0 +1,132 @@
+package asia.fourtitude.interviewq.jumble.core.words;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of word ids by anagram signature: the letters of the word in
+ * ascending order, e.g. "aelst" for "least", "slate" and "stale".
+ *
+ * <p>The anagrams of some letters are one hash lookup away, after building
+ * their signature in a single counting pass. The largest families
+ * (signatures with the most words) are ranked once, at load time.
+ */
+public class AnagramIndex {
+
+    /**
+     * The number of largest families ranked at load time.
+     */
+    public static final int MAX_FAMILIES = 100;
+
+    private static final int LETTERS = 26;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<String, int[]> idsBySignature;
+
+    private final List<String> largestFamilies;
+
+    private final int initialCapacity;
+
+    AnagramIndex(String[] values) {
+        this.initialCapacity = values.length * 2;
+        Map<String, int[]> index = new HashMap<>(initialCapacity);
+        for (int id = 0; id < values.length; id += 1) {
+            String signature = signatureOf(values[id]);
+            if (signature == null) {
+                continue;
+            }
+            int[] ids = index.get(signature);
+            if (ids == null) {
+                ids = new int[] { id };
+            } else {
+                ids = Arrays.copyOf(ids, ids.length + 1);
+                ids[ids.length - 1] = id;
+            }
+            index.put(signature, ids);
+        }
+        this.idsBySignature = index;
+
+        List<String> families = new ArrayList<>();
+        for (Map.Entry<String, int[]> entry : index.entrySet()) {
+            if (entry.getValue().length > 1) {
+                families.add(entry.getKey());
+            }
+        }
+        families.sort((a, b) -> {
+            int cmp = Integer.compare(index.get(b).length, index.get(a).length);
+            return cmp != 0 ? cmp : a.compareTo(b);
+        });
+        this.largestFamilies = Collections.unmodifiableList(
+                new ArrayList<>(families.subList(0, Math.min(MAX_FAMILIES, families.size()))));
+    }
+
+    /**
+     * Builds the signature of `letters` by counting sort.
+     *
+     * @param letters  The (lower case) letters.
+     * @return  The letters in ascending order; null when not all 'a' to 'z'.
+     */
+    public static String signatureOf(CharSequence letters) {
+        int[] counts = new int[LETTERS];
+        for (int ix = 0; ix < letters.length(); ix += 1) {
+            int letter = SearchIndex.letterOf(letters.charAt(ix));
+            if (letter == SearchIndex.ANY) {
+                return null;
+            }
+            counts[letter] += 1;
+        }
+        char[] signature = new char[letters.length()];
+        int pos = 0;
+        for (int letter = 0; letter < LETTERS; letter += 1) {
+            for (int n = counts[letter]; n > 0; n -= 1) {
+                signature[pos++] = (char) ('a' + letter);
+            }
+        }
+        return new String(signature);
+    }
+
+    /**
+     * @param signature  The signature, see {@link #signatureOf(CharSequence)}.
+     * @return  The ids of the words having `signature`, ascending.
+     */
+    public int[] idsOf(String signature) {
+        int[] ids = idsBySignature.get(signature);
+        return ids == null ? EMPTY : ids;
+    }
+
+    /**
+     * @return  The signatures of the (up to {@link #MAX_FAMILIES}) largest
+     *          families of two words or more, largest first.
+     */
+    public List<String> getLargestFamilies() {
+        return largestFamilies;
+    }
+
+    /**
+     * @return  The number of distinct signatures.
+     */
+    public int size() {
+        return idsBySignature.size();
+    }
+
+    /**
+     * @return  The estimated bytes retained, see {@link Footprint}.
+     */
+    long estimatedBytes() {
+        long bytes = Footprint.ofObject(2, Integer.BYTES)
+                + Footprint.ofHashMap(idsBySignature.size(), initialCapacity);
+        for (Map.Entry<String, int[]> entry : idsBySignature.entrySet()) {
+            bytes += Footprint.of(entry.getKey()) + Footprint.of(entry.getValue());
+        }
+        // unmodifiable view of an array list of signatures already counted
+        bytes += Footprint.ofObject(1, 0) + Footprint.ofObject(1, 2 * Integer.BYTES)
+                + Footprint.ofArray(largestFamilies.size(), Footprint.REFERENCE);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,137 @@
+package asia.fourtitude.interviewq.jumble.core.words;
+
+/**
+ * Analytic estimates of retained heap sizes, for a 64-bit HotSpot JVM with
+ * compressed references (heaps under 32 GB): 12 byte object headers, 16
+ * byte array headers, 4 byte references, every object aligned to 8 bytes.
+ * Strings hold a byte per character from Java 9 (compact strings of the
+ * Latin-1 dictionary), two before.
+ *
+ * <p>Estimates count what a structure owns: objects shared with another
+ * structure (such as the word strings) are counted once, by their owner,
+ * and empty arrays are assumed to be a shared constant.
+ */
+final class Footprint {
+
+    static final int OBJECT_HEADER = 12;
+
+    static final int ARRAY_HEADER = 16;
+
+    static final int REFERENCE = 4;
+
+    private static final int ALIGNMENT = 8;
+
+    private static final boolean COMPACT_STRINGS = !System.getProperty("java.specification.version", "1.8").startsWith("1.");
+
+    private Footprint() {
+    }
+
+    static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * @param references      The number of reference fields.
+     * @param primitiveBytes  The bytes of primitive fields.
+     * @return  The shallow size of an object.
+     */
+    static long ofObject(int references, int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * @param length        The number of elements.
+     * @param elementBytes  The bytes of one element, {@link #REFERENCE} for objects.
+     * @return  The shallow size of an array.
+     */
+    static long ofArray(int length, int elementBytes) {
+        return length == 0 ? 0 : align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+    static long of(byte[] array) {
+        return array == null ? 0 : ofArray(array.length, Byte.BYTES);
+    }
+
+    static long of(char[] array) {
+        return array == null ? 0 : ofArray(array.length, Character.BYTES);
+    }
+
+    static long of(int[] array) {
+        return array == null ? 0 : ofArray(array.length, Integer.BYTES);
+    }
+
+    static long of(long[] array) {
+        return array == null ? 0 : ofArray(array.length, Long.BYTES);
+    }
+
+    static long of(byte[][] arrays) {
+        if (arrays == null) {
+            return 0;
+        }
+        long bytes = ofArray(arrays.length, REFERENCE);
+        for (byte[] array : arrays) {
+            bytes += of(array);
+        }
+        return bytes;
+    }
+
+    static long of(int[][] arrays) {
+        if (arrays == null) {
+            return 0;
+        }
+        long bytes = ofArray(arrays.length, REFERENCE);
+        for (int[] array : arrays) {
+            bytes += of(array);
+        }
+        return bytes;
+    }
+
+    static long of(long[][] arrays) {
+        if (arrays == null) {
+            return 0;
+        }
+        long bytes = ofArray(arrays.length, REFERENCE);
+        for (long[] array : arrays) {
+            bytes += of(array);
+        }
+        return bytes;
+    }
+
+    static long of(long[][][] arrays) {
+        if (arrays == null) {
+            return 0;
+        }
+        long bytes = ofArray(arrays.length, REFERENCE);
+        for (long[][] array : arrays) {
+            bytes += of(array);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return  The size of a string, with its character array.
+     */
+    static long of(String value) {
+        // value reference, hash, (from Java 9) coder and hash-is-zero flags
+        long bytes = ofObject(1, Integer.BYTES + (COMPACT_STRINGS ? 2 : 0));
+        return bytes + ofArray(value.length(), COMPACT_STRINGS ? Byte.BYTES : Character.BYTES);
+    }
+
+    /**
+     * @param entries          The number of entries.
+     * @param initialCapacity  The initial capacity the map was created with.
+     * @return  The size of a {@link java.util.HashMap} (table and nodes, not
+     *          the keys and values) holding `entries` at the default load factor.
+     */
+    static long ofHashMap(int entries, int initialCapacity) {
+        int table = 1;
+        while (table < initialCapacity || table * 0.75 < entries) {
+            table <<= 1;
+        }
+        // map: table, 3 views; size, modCount, threshold, loadFactor
+        long map = ofObject(4, 4 * Integer.BYTES);
+        // node: key, value, next; hash
+        return map + ofArray(table, REFERENCE) + entries * ofObject(3, Integer.BYTES);
+    }
+
+}
@@ -0,0 +1,277 @@
+package asia.fourtitude.interviewq.jumble.core.words;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Word ladders: the shortest chain from one word to another of the same
+ * length, changing one letter at a time, every step a word.
+ *
+ * <p>Words of one length are grouped into wildcard buckets, one set per
+ * letter position: "cat", "cot" and "cut" share the bucket "c*t". Two words
+ * are neighbours exactly when they share a bucket, so the neighbours of a
+ * word are the members of its buckets, without comparing pairs. The buckets
+ * of a length are built on its first query and cached, never evicted.
+ *
+ * <p>Paths are searched breadth first from both ends, a whole level at a
+ * time, always expanding the smaller frontier, over queues and visited marks
+ * of primitive ints.
+ */
+public class LadderIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String[] values;
+
+    private final Map<Integer, Buckets> bucketsByLength = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder buildNanos = new LongAdder();
+
+    LadderIndex(String[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Finds a shortest ladder from `fromId` to `toId`.
+     *
+     * @param fromId  The id of the first word.
+     * @param toId    The id of the last word.
+     * @return  The ids of the words of the ladder, `fromId` first and `toId`
+     *          last; empty when the words differ in length or no ladder exists.
+     */
+    public int[] shortestPath(int fromId, int toId) {
+        int length = values[fromId].length();
+        if (values[toId].length() != length) {
+            return EMPTY;
+        }
+        if (fromId == toId) {
+            return new int[] { fromId };
+        }
+        Buckets buckets = bucketsByLength.get(length);
+        if (buckets != null) {
+            hits.increment();
+        } else {
+            buckets = bucketsByLength.computeIfAbsent(length, this::build);
+        }
+        Frontier forward = new Frontier(buckets.size(), buckets.localOf(fromId));
+        Frontier backward = new Frontier(buckets.size(), buckets.localOf(toId));
+        while (forward.head < forward.tail && backward.head < backward.tail) {
+            boolean forwardSmaller = forward.tail - forward.head <= backward.tail - backward.head;
+            int meet = forwardSmaller
+                    ? expandLevel(buckets, forward, backward)
+                    : expandLevel(buckets, backward, forward);
+            if (meet >= 0) {
+                return path(buckets, meet, forward, backward);
+            }
+        }
+        return EMPTY;
+    }
+
+    private Buckets build(int length) {
+        misses.increment();
+        long start = System.nanoTime();
+        Buckets buckets = new Buckets(values, length);
+        buildNanos.add(System.nanoTime() - start);
+        return buckets;
+    }
+
+    /*
+     * Visits the neighbours of a whole level of `side`; returns the word
+     * where `side` meets `other` on a shortest ladder, or -1 if not met.
+     */
+    private static int expandLevel(Buckets buckets, Frontier side, Frontier other) {
+        int meet = -1;
+        int best = Integer.MAX_VALUE;
+        int end = side.tail;
+        for (; side.head < end; side.head += 1) {
+            int word = side.queue[side.head];
+            int depth = side.depths[word] + 1;
+            for (int pos = 0; pos < buckets.length; pos += 1) {
+                int group = buckets.groupOf[pos][word];
+                int[] members = buckets.members[pos];
+                for (int ix = buckets.starts[pos][group]; ix < buckets.starts[pos][group + 1]; ix += 1) {
+                    int next = members[ix];
+                    if (side.parents[next] >= 0) {
+                        continue;
+                    }
+                    side.parents[next] = word;
+                    side.depths[next] = depth;
+                    side.queue[side.tail++] = next;
+                    if (other.parents[next] >= 0 && other.depths[next] < best) {
+                        best = other.depths[next];
+                        meet = next;
+                    }
+                }
+            }
+        }
+        return meet;
+    }
+
+    private static int[] path(Buckets buckets, int meet, Frontier forward, Frontier backward) {
+        int[] ids = new int[forward.depths[meet] + backward.depths[meet] + 1];
+        int word = meet;
+        for (int ix = forward.depths[meet]; ix >= 0; ix -= 1) {
+            ids[ix] = buckets.ids[word];
+            word = forward.parents[word];
+        }
+        word = meet;
+        for (int ix = forward.depths[meet]; ix < ids.length; ix += 1) {
+            ids[ix] = buckets.ids[word];
+            word = backward.parents[word];
+        }
+        return ids;
+    }
+
+    /**
+     * @return  The number of word lengths whose buckets are built.
+     */
+    public int cachedLengths() {
+        return bucketsByLength.size();
+    }
+
+    /**
+     * @return  The snapshot of cache counters: lengths cached, hits, misses
+     *          (builds), time spent building and estimated bytes.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", bucketsByLength.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", 0L);
+        stats.put("build_ms", Math.round(buildNanos.sum() / 10_000.0) / 100.0);
+        stats.put("bytes", estimatedBytes());
+        return stats;
+    }
+
+    /**
+     * @return  The estimated bytes retained by the cached buckets, see {@link Footprint}.
+     */
+    long estimatedBytes() {
+        long bytes = Footprint.ofObject(5, 0);
+        for (Buckets buckets : bucketsByLength.values()) {
+            // map node (the boxed lengths are cached) and buckets
+            bytes += Footprint.ofObject(3, Integer.BYTES) + Footprint.ofObject(4, Integer.BYTES)
+                    + Footprint.of(buckets.ids)
+                    + Footprint.of(buckets.members) + Footprint.of(buckets.starts) + Footprint.of(buckets.groupOf);
+        }
+        return bytes;
+    }
+
+    /*
+     * One side of the search: a word (local index) is visited when it has
+     * a parent, its predecessor towards the side's end (itself at the end).
+     */
+    private static final class Frontier {
+
+        private final int[] parents;
+
+        private final int[] depths;
+
+        private final int[] queue;
+
+        private int head;
+
+        private int tail;
+
+        Frontier(int size, int start) {
+            this.parents = new int[size];
+            this.depths = new int[size];
+            this.queue = new int[size];
+            Arrays.fill(parents, -1);
+            parents[start] = start;
+            queue[tail++] = start;
+        }
+
+    }
+
+    /*
+     * The wildcard buckets of the words of one length. Words are local
+     * indexes into `ids`; for each position, `members` lists the words
+     * grouped by bucket, bucket `g` being members[starts[g], starts[g + 1]).
+     */
+    private static final class Buckets {
+
+        private final int length;
+
+        private final int[] ids;
+
+        private final int[][] members;
+
+        private final int[][] starts;
+
+        private final int[][] groupOf;
+
+        Buckets(String[] values, int length) {
+            this.length = length;
+            int count = 0;
+            for (String value : values) {
+                if (value.length() == length) {
+                    count += 1;
+                }
+            }
+            this.ids = new int[count];
+            count = 0;
+            for (int id = 0; id < values.length; id += 1) {
+                if (values[id].length() == length) {
+                    ids[count++] = id;
+                }
+            }
+            this.members = new int[length][];
+            this.starts = new int[length][];
+            this.groupOf = new int[length][];
+            Integer[] order = new Integer[count];
+            for (int pos = 0; pos < length; pos += 1) {
+                for (int ix = 0; ix < count; ix += 1) {
+                    order[ix] = ix;
+                }
+                int skip = pos;
+                Arrays.sort(order, (a, b) -> compareExcept(values[ids[a]], values[ids[b]], skip));
+                int[] grouped = new int[count];
+                int[] groupStarts = new int[count + 1];
+                int[] groups = new int[count];
+                int group = -1;
+                for (int ix = 0; ix < count; ix += 1) {
+                    grouped[ix] = order[ix];
+                    if (ix == 0 || compareExcept(values[ids[order[ix - 1]]], values[ids[order[ix]]], pos) != 0) {
+                        groupStarts[++group] = ix;
+                    }
+                    groups[order[ix]] = group;
+                }
+                groupStarts[group + 1] = count;
+                members[pos] = grouped;
+                starts[pos] = Arrays.copyOf(groupStarts, group + 2);
+                groupOf[pos] = groups;
+            }
+        }
+
+        /*
+         * Compares two words of the same length ignoring the letter at `skip`.
+         */
+        private static int compareExcept(String a, String b, int skip) {
+            for (int ix = 0; ix < a.length(); ix += 1) {
+                if (ix != skip && a.charAt(ix) != b.charAt(ix)) {
+                    return Character.compare(a.charAt(ix), b.charAt(ix));
+                }
+            }
+            return 0;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int localOf(int id) {
+            return Arrays.binarySearch(ids, id);
+        }
+
+    }
+
+}
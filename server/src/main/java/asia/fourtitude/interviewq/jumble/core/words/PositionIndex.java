@@ -0,0 +1,229 @@
+package asia.fourtitude.interviewq.jumble.core.words;
+
+import java.util.Arrays;
+
+/**
+ * Bitmap index of words by (length, position, letter), supporting fixed-length
+ * patterns such as {@code ??ll?} and crossword-style constraints ("7 letters,
+ * 'a' second, 'e' fifth, no 'z").
+ *
+ * <p>The words of each length are numbered locally 0, 1, ... in dictionary
+ * order. For every (length, position, letter) there is a bitmap of the local
+ * ids having that letter at that position, and for every (length, letter) a
+ * bitmap of the local ids containing the letter anywhere. A query is resolved
+ * by AND-ing (or AND-NOT-ing) a handful of bitmaps, 64 words per step, and
+ * the result is read back in id order.
+ */
+public class PositionIndex {
+
+    /**
+     * Matches any letter at a position of a pattern.
+     */
+    public static final char ANY = '?';
+
+    private static final int LETTERS = 26;
+
+    private static final int[] EMPTY = new int[0];
+
+    /*
+     * ids[length][local id] = word id
+     */
+    private final int[][] ids;
+
+    /*
+     * positions[length][position * 26 + letter] = bitmap of local ids
+     */
+    private final long[][][] positions;
+
+    /*
+     * contains[length][letter] = bitmap of local ids
+     */
+    private final long[][][] contains;
+
+    PositionIndex(String[] values, SearchIndex searchIndex) {
+        int maxLength = searchIndex.getMaxLength();
+        this.ids = new int[maxLength + 1][];
+        this.positions = new long[maxLength + 1][][];
+        this.contains = new long[maxLength + 1][][];
+        ids[0] = EMPTY;
+        for (int length = 1; length <= maxLength; length += 1) {
+            int[] local = searchIndex.idsOfLength(length);
+            int words = wordsOf(local.length);
+            long[][] byPosition = new long[length * LETTERS][words];
+            long[][] byLetter = new long[LETTERS][words];
+            for (int lx = 0; lx < local.length; lx += 1) {
+                String value = values[local[lx]];
+                long bit = 1L << lx;
+                for (int pos = 0; pos < length; pos += 1) {
+                    int letter = SearchIndex.letterOf(value.charAt(pos));
+                    if (letter != SearchIndex.ANY) {
+                        byPosition[pos * LETTERS + letter][lx >>> 6] |= bit;
+                        byLetter[letter][lx >>> 6] |= bit;
+                    }
+                }
+            }
+            ids[length] = local;
+            positions[length] = byPosition;
+            contains[length] = byLetter;
+        }
+    }
+
+    private static int wordsOf(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * @param letters  The (lower case) letters.
+     * @return  The bit set of the letters 'a' (bit 0) to 'z' (bit 25); negative when any is not a letter.
+     */
+    public static int maskOf(CharSequence letters) {
+        int mask = 0;
+        for (int ix = 0; ix < letters.length(); ix += 1) {
+            int letter = SearchIndex.letterOf(letters.charAt(ix));
+            if (letter == SearchIndex.ANY) {
+                return -1;
+            }
+            mask |= 1 << letter;
+        }
+        return mask;
+    }
+
+    /**
+     * Selects the words matching a fixed-length `pattern`.
+     *
+     * @param pattern  The (lower case) letters, or {@link #ANY} for any letter, one per position.
+     * @return  The words selected.
+     */
+    public Selection select(char[] pattern) {
+        return select(pattern, 0, 0);
+    }
+
+    /**
+     * Selects the words matching a fixed-length `pattern` that also contain
+     * every letter of `included` and none of `excluded`.
+     *
+     * @param pattern   The (lower case) letters, or {@link #ANY} for any letter, one per position.
+     * @param included  The letters required anywhere, see {@link #maskOf(CharSequence)}.
+     * @param excluded  The letters not allowed anywhere, see {@link #maskOf(CharSequence)}.
+     * @return  The words selected.
+     */
+    public Selection select(char[] pattern, int included, int excluded) {
+        int length = pattern.length;
+        if (length == 0 || length >= ids.length || ids[length].length == 0) {
+            return new Selection(EMPTY, new long[0]);
+        }
+        int[] local = ids[length];
+        long[] bitmap = new long[wordsOf(local.length)];
+        Arrays.fill(bitmap, -1L);
+        if ((local.length & 63) != 0) {
+            bitmap[bitmap.length - 1] = (1L << (local.length & 63)) - 1;
+        }
+        for (int pos = 0; pos < length; pos += 1) {
+            if (pattern[pos] == ANY) {
+                continue;
+            }
+            int letter = SearchIndex.letterOf(pattern[pos]);
+            if (letter == SearchIndex.ANY) {
+                return new Selection(EMPTY, new long[0]);
+            }
+            and(bitmap, positions[length][pos * LETTERS + letter]);
+        }
+        for (int letter = 0; letter < LETTERS; letter += 1) {
+            if ((included & (1 << letter)) != 0) {
+                and(bitmap, contains[length][letter]);
+            }
+            if ((excluded & (1 << letter)) != 0) {
+                andNot(bitmap, contains[length][letter]);
+            }
+        }
+        return new Selection(local, bitmap);
+    }
+
+    private static void and(long[] bitmap, long[] other) {
+        for (int ix = 0; ix < bitmap.length; ix += 1) {
+            bitmap[ix] &= other[ix];
+        }
+    }
+
+    private static void andNot(long[] bitmap, long[] other) {
+        for (int ix = 0; ix < bitmap.length; ix += 1) {
+            bitmap[ix] &= ~other[ix];
+        }
+    }
+
+    /**
+     * @return  The estimated bytes retained, see {@link Footprint}.
+     */
+    long estimatedBytes() {
+        return Footprint.ofObject(3, 0) + Footprint.of(ids) + Footprint.of(positions) + Footprint.of(contains);
+    }
+
+    /**
+     * The words of one length selected by a query, read in id order.
+     */
+    public static final class Selection {
+
+        private final int[] local;
+
+        private final long[] bitmap;
+
+        private final int count;
+
+        Selection(int[] local, long[] bitmap) {
+            this.local = local;
+            this.bitmap = bitmap;
+            int bits = 0;
+            for (long word : bitmap) {
+                bits += Long.bitCount(word);
+            }
+            this.count = bits;
+        }
+
+        /**
+         * @return  The number of words selected.
+         */
+        public int count() {
+            return count;
+        }
+
+        /**
+         * @return  The ids of all the words selected, ascending.
+         */
+        public int[] ids() {
+            return ids(0, count);
+        }
+
+        /**
+         * Reads a slice of the selection, skipping whole bitmap words (by
+         * bit count) until `offset` is reached.
+         *
+         * @param offset  The number of selected words to skip.
+         * @param limit   The maximum number of ids.
+         * @return  The ids of the selected words in the slice, ascending.
+         */
+        public int[] ids(int offset, int limit) {
+            int size = (int) Math.max(0, Math.min((long) count - offset, limit));
+            int[] result = new int[size];
+            int skip = offset;
+            int filled = 0;
+            for (int wx = 0; wx < bitmap.length && filled < size; wx += 1) {
+                long word = bitmap[wx];
+                int bits = Long.bitCount(word);
+                if (skip >= bits) {
+                    skip -= bits;
+                    continue;
+                }
+                for (; skip > 0; skip -= 1) {
+                    word &= word - 1;
+                }
+                while (word != 0 && filled < size) {
+                    result[filled++] = local[(wx << 6) + Long.numberOfTrailingZeros(word)];
+                    word &= word - 1;
+                }
+            }
+            return result;
+        }
+
+    }
+
+}
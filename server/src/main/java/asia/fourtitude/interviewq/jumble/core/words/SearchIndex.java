@@ -0,0 +1,206 @@
+package asia.fourtitude.interviewq.jumble.core.words;
+
+import java.util.List;
+
+/**
+ * Index of word ids by first letter, last letter and length, supporting the
+ * criteria of {@code JumbleEngine#searchWords}.
+ *
+ * <p>Word ids are positions in the (sorted) dictionary, so every posting list
+ * is in dictionary order. A count table holds the number of words for every
+ * combination of (first letter or any, last letter or any, length or any),
+ * so totals are answered without scanning.
+ *
+ * <p>Letters are 'a' to 'z' only, encoded as 0 to 25; {@link #ANY} matches
+ * any letter/length.
+ */
+public class SearchIndex {
+
+    public static final int ANY = -1;
+
+    private static final int LETTERS = 26;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final int size;
+
+    private final int maxLength;
+
+    private final byte[] firstLetters;
+
+    private final byte[] lastLetters;
+
+    private final int[] lengths;
+
+    private final int[][] idsByFirst;
+
+    private final int[][] idsByLast;
+
+    private final int[][] idsByLength;
+
+    private final int[] counts;
+
+    SearchIndex(List<Word> words) {
+        int n = words.size();
+        int max = 0;
+        for (Word w : words) {
+            max = Math.max(max, w.getLength());
+        }
+        this.size = n;
+        this.maxLength = max;
+        this.firstLetters = new byte[n];
+        this.lastLetters = new byte[n];
+        this.lengths = new int[n];
+        this.counts = new int[(LETTERS + 1) * (LETTERS + 1) * (max + 1)];
+
+        int[] firstSizes = new int[LETTERS];
+        int[] lastSizes = new int[LETTERS];
+        int[] lengthSizes = new int[max + 1];
+        for (int id = 0; id < n; id += 1) {
+            Word w = words.get(id);
+            int first = letterOf(w.getPrefix());
+            int last = letterOf(w.getPostfix());
+            firstLetters[id] = (byte) first;
+            lastLetters[id] = (byte) last;
+            lengths[id] = w.getLength();
+            if (first != ANY) {
+                firstSizes[first] += 1;
+            }
+            if (last != ANY) {
+                lastSizes[last] += 1;
+            }
+            lengthSizes[w.getLength()] += 1;
+        }
+        this.idsByFirst = allocate(firstSizes);
+        this.idsByLast = allocate(lastSizes);
+        this.idsByLength = allocate(lengthSizes);
+        int[] firstPos = new int[LETTERS];
+        int[] lastPos = new int[LETTERS];
+        int[] lengthPos = new int[max + 1];
+        for (int id = 0; id < n; id += 1) {
+            int first = firstLetters[id];
+            int last = lastLetters[id];
+            int length = lengths[id];
+            if (first != ANY) {
+                idsByFirst[first][firstPos[first]++] = id;
+            }
+            if (last != ANY) {
+                idsByLast[last][lastPos[last]++] = id;
+            }
+            idsByLength[length][lengthPos[length]++] = id;
+
+            // every combination of (first or any) x (last or any) x (length or any)
+            for (int f = 0; f < 2; f += 1) {
+                int ff = f == 0 ? ANY : first;
+                if (f == 1 && first == ANY) {
+                    continue;
+                }
+                for (int l = 0; l < 2; l += 1) {
+                    int ll = l == 0 ? ANY : last;
+                    if (l == 1 && last == ANY) {
+                        continue;
+                    }
+                    counts[slot(ff, ll, 0)] += 1;
+                    counts[slot(ff, ll, length)] += 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param ch  The character.
+     * @return  0 to 25 for 'a' to 'z' (case insensitive), otherwise {@link #ANY}.
+     */
+    public static int letterOf(Character ch) {
+        if (ch == null) {
+            return ANY;
+        }
+        char c = Character.toLowerCase(ch);
+        return c >= 'a' && c <= 'z' ? c - 'a' : ANY;
+    }
+
+    /**
+     * @param first   The first letter (0 to 25), or {@link #ANY}.
+     * @param last    The last letter (0 to 25), or {@link #ANY}.
+     * @param length  The length (positive), or {@link #ANY}.
+     * @return  The number of words matching all the criteria.
+     */
+    public int count(int first, int last, int length) {
+        if (length > maxLength) {
+            return 0;
+        }
+        return counts[slot(first, last, length == ANY ? 0 : length)];
+    }
+
+    /**
+     * Returns the smallest posting list (ascending word ids) among the given
+     * criteria. Every matching word is in the list, but the list may contain
+     * words which do not match the other criteria, see {@link #matches}.
+     *
+     * @return  The candidate word ids, or all words (null) when no criteria given.
+     */
+    public int[] candidates(int first, int last, int length) {
+        if (length > maxLength) {
+            return EMPTY;
+        }
+        int[] best = null;
+        if (first != ANY) {
+            best = idsByFirst[first];
+        }
+        if (last != ANY && (best == null || idsByLast[last].length < best.length)) {
+            best = idsByLast[last];
+        }
+        if (length != ANY && (best == null || idsByLength[length].length < best.length)) {
+            best = idsByLength[length];
+        }
+        return best;
+    }
+
+    public boolean matches(int id, int first, int last, int length) {
+        return (first == ANY || firstLetters[id] == first)
+                && (last == ANY || lastLetters[id] == last)
+                && (length == ANY || lengths[id] == length);
+    }
+
+    /**
+     * @param length  The length.
+     * @return  The ids of all words of `length`, ascending.
+     */
+    public int[] idsOfLength(int length) {
+        if (length < 0 || length > maxLength) {
+            return EMPTY;
+        }
+        return idsByLength[length];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return  The estimated bytes retained, see {@link Footprint}.
+     */
+    long estimatedBytes() {
+        return Footprint.ofObject(7, 2 * Integer.BYTES)
+                + Footprint.of(firstLetters) + Footprint.of(lastLetters) + Footprint.of(lengths)
+                + Footprint.of(idsByFirst) + Footprint.of(idsByLast) + Footprint.of(idsByLength)
+                + Footprint.of(counts);
+    }
+
+    private int slot(int first, int last, int length) {
+        return ((first + 1) * (LETTERS + 1) + (last + 1)) * (maxLength + 1) + length;
+    }
+
+    private static int[][] allocate(int[] sizes) {
+        int[][] lists = new int[sizes.length][];
+        for (int ix = 0; ix < sizes.length; ix += 1) {
+            lists[ix] = sizes[ix] == 0 ? EMPTY : new int[sizes[ix]];
+        }
+        return lists;
+    }
+
+}
@@ -0,0 +1,103 @@
+package asia.fourtitude.interviewq.jumble.core.words;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Index of word ids in reversed-word order ("rhyme order"), so the words
+ * ending in a suffix form one contiguous range, just as the words beginning
+ * with a prefix do in dictionary order.
+ *
+ * <p>Only the ids are stored; words are compared from their last letter
+ * backwards, without keeping reversed copies.
+ */
+public class SuffixIndex {
+
+    private final String[] values;
+
+    private final int[] ids;
+
+    SuffixIndex(String[] values) {
+        this.values = values;
+        Integer[] sorted = new Integer[values.length];
+        for (int id = 0; id < values.length; id += 1) {
+            sorted[id] = id;
+        }
+        Arrays.sort(sorted, Comparator.comparing(id -> new StringBuilder(values[id]).reverse().toString()));
+        this.ids = new int[values.length];
+        for (int ix = 0; ix < sorted.length; ix += 1) {
+            ids[ix] = sorted[ix];
+        }
+    }
+
+    /**
+     * Finds the range, in rhyme order, of the words ending with `suffix`.
+     *
+     * @param suffix  The (lower case) suffix.
+     * @return  Two elements, {from (inclusive), to (exclusive)}, positions for {@link #idAt(int)}.
+     */
+    public int[] suffixRange(String suffix) {
+        int from = lowerBound(suffix, false);
+        int to = lowerBound(suffix, true);
+        return new int[] { from, to };
+    }
+
+    /**
+     * @param position  The position in rhyme order.
+     * @return  The word id at `position`.
+     */
+    public int idAt(int position) {
+        return ids[position];
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return  The estimated bytes retained, see {@link Footprint}.
+     */
+    long estimatedBytes() {
+        // the values are the repository's
+        return Footprint.ofObject(2, 0) + Footprint.of(ids);
+    }
+
+    /*
+     * The first position whose word, read backwards, is not less than the
+     * reversed `suffix`; or, with `past`, not less than any word ending in
+     * `suffix`.
+     */
+    private int lowerBound(String suffix, boolean past) {
+        int lo = 0;
+        int hi = ids.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compareReversed(values[ids[mid]], suffix);
+            if (cmp < 0 || (past && cmp == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /*
+     * Compares the last letters of `value` (read backwards) to `suffix` (read
+     * backwards); 0 when `value` ends with `suffix`.
+     */
+    private static int compareReversed(String value, String suffix) {
+        int vx = value.length() - 1;
+        for (int sx = suffix.length() - 1; sx >= 0; sx -= 1, vx -= 1) {
+            if (vx < 0) {
+                return -1;
+            }
+            int cmp = Character.compare(value.charAt(vx), suffix.charAt(sx));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+}
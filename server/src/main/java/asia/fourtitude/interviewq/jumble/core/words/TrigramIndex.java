@@ -0,0 +1,211 @@
+package asia.fourtitude.interviewq.jumble.core.words;
+
+import java.util.Arrays;
+
+/**
+ * Index of word ids by the trigrams (three consecutive letters) they contain,
+ * supporting substring search such as "words containing ough".
+ *
+ * <p>Each posting list is in dictionary order and stored compressed: the gap
+ * from the previous id, as a variable length integer (7 bits per byte, high
+ * bit set when more bytes follow). Gaps in common trigrams are small, so most
+ * ids take one byte instead of four.
+ *
+ * <p>A fragment of three letters or more is resolved by intersecting the
+ * postings of its trigrams, shortest first, which yields candidates; the
+ * caller verifies them, since having every trigram does not imply having
+ * them adjacent.
+ */
+public class TrigramIndex {
+
+    /**
+     * The length of a gram; fragments shorter than this cannot use the index.
+     */
+    public static final int GRAM = 3;
+
+    private static final int LETTERS = 26;
+
+    private static final int KEYS = LETTERS * LETTERS * LETTERS;
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private static final int[] EMPTY = new int[0];
+
+    private final byte[][] postings;
+
+    private final int[] counts;
+
+    TrigramIndex(String[] values) {
+        int[][] lists = new int[KEYS][];
+        int[] sizes = new int[KEYS];
+        int[] lastIds = new int[KEYS];
+        Arrays.fill(lastIds, -1);
+        for (int id = 0; id < values.length; id += 1) {
+            String value = values[id];
+            for (int ix = 0; ix + GRAM <= value.length(); ix += 1) {
+                int key = keyOf(value, ix);
+                if (key < 0 || lastIds[key] == id) {
+                    continue;
+                }
+                lastIds[key] = id;
+                if (lists[key] == null) {
+                    lists[key] = new int[4];
+                } else if (sizes[key] == lists[key].length) {
+                    lists[key] = Arrays.copyOf(lists[key], sizes[key] * 2);
+                }
+                lists[key][sizes[key]++] = id;
+            }
+        }
+        this.postings = new byte[KEYS][];
+        this.counts = sizes;
+        for (int key = 0; key < KEYS; key += 1) {
+            postings[key] = sizes[key] == 0 ? NO_BYTES : encode(lists[key], sizes[key]);
+        }
+    }
+
+    /*
+     * The key (0 to 26^3 - 1) of the trigram at `ix`, or negative when not letters 'a' to 'z'.
+     */
+    private static int keyOf(CharSequence value, int ix) {
+        int key = 0;
+        for (int jx = ix; jx < ix + GRAM; jx += 1) {
+            int letter = SearchIndex.letterOf(value.charAt(jx));
+            if (letter == SearchIndex.ANY) {
+                return -1;
+            }
+            key = key * LETTERS + letter;
+        }
+        return key;
+    }
+
+    private static byte[] encode(int[] ids, int size) {
+        byte[] buffer = new byte[size * 5];
+        int length = 0;
+        int previous = 0;
+        for (int ix = 0; ix < size; ix += 1) {
+            int gap = ids[ix] - previous;
+            previous = ids[ix];
+            while ((gap & ~0x7F) != 0) {
+                buffer[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            buffer[length++] = (byte) gap;
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private int[] decode(int key) {
+        byte[] bytes = postings[key];
+        int[] ids = new int[counts[key]];
+        int pos = 0;
+        int previous = 0;
+        for (int ix = 0; ix < ids.length; ix += 1) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[pos++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += gap;
+            ids[ix] = previous;
+        }
+        return ids;
+    }
+
+    /*
+     * Keeps in ids[0, size) only those also in the postings of `key`, decoding
+     * them as a stream; returns the new size.
+     */
+    private int retain(int[] ids, int size, int key) {
+        byte[] bytes = postings[key];
+        int pos = 0;
+        int current = -1;
+        int kept = 0;
+        for (int ix = 0; ix < size; ix += 1) {
+            while (current < ids[ix] && pos < bytes.length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[pos++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                current = (current < 0 ? 0 : current) + gap;
+            }
+            if (current == ids[ix]) {
+                ids[kept++] = ids[ix];
+            } else if (current < ids[ix]) {
+                break;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Finds the candidate words for containing `fragment`: those having
+     * every trigram of it.
+     *
+     * @param fragment  The (lower case) fragment, at least {@link #GRAM} letters.
+     * @return  The ids of the candidates, ascending; empty when a trigram has no word.
+     */
+    public int[] candidates(String fragment) {
+        int grams = fragment.length() - GRAM + 1;
+        if (grams <= 0) {
+            throw new IllegalArgumentException("fragment shorter than " + GRAM + " letters: " + fragment);
+        }
+        int[] keys = new int[grams];
+        for (int ix = 0; ix < grams; ix += 1) {
+            keys[ix] = keyOf(fragment, ix);
+            if (keys[ix] < 0 || counts[keys[ix]] == 0) {
+                return EMPTY;
+            }
+        }
+        // shortest posting first, so the running candidate set only shrinks
+        Integer[] order = new Integer[grams];
+        for (int ix = 0; ix < grams; ix += 1) {
+            order[ix] = keys[ix];
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(counts[a], counts[b]));
+        int[] ids = decode(order[0]);
+        int size = ids.length;
+        for (int ix = 1; ix < grams && size > 0; ix += 1) {
+            if (!order[ix].equals(order[ix - 1])) {
+                size = retain(ids, size, order[ix]);
+            }
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * @return  The bytes held by all the compressed postings.
+     */
+    public long postingBytes() {
+        long bytes = 0;
+        for (byte[] posting : postings) {
+            bytes += posting.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return  The estimated bytes retained, see {@link Footprint}.
+     */
+    long estimatedBytes() {
+        return Footprint.ofObject(2, 0) + Footprint.of(postings) + Footprint.of(counts);
+    }
+
+    /**
+     * @return  The number of ids held by all the postings.
+     */
+    public long postingCount() {
+        long count = 0;
+        for (int size : counts) {
+            count += size;
+        }
+        return count;
+    }
+
+}
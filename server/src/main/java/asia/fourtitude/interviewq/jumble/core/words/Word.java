@@ -16,12 +16,14 @@ public class Word {
     private final Character prefix;
     private final Character postfix;
     private final boolean palindrome;
+    private final long weight;
 
-    public Word(String value, int length, Character prefix, Character postfix, boolean palindrome) {
+    public Word(String value, int length, Character prefix, Character postfix, boolean palindrome, long weight) {
         this.value = value;
         this.length = length;
         this.prefix = prefix;
         this.postfix = postfix;
         this.palindrome = palindrome;
+        this.weight = weight;
     }
 }
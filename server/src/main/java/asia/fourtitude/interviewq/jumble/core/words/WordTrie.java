@@ -0,0 +1,595 @@
+package asia.fourtitude.interviewq.jumble.core.words;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix tree of the dictionary, stored in parallel primitive arrays.
+ *
+ * <p>Nodes are numbered in pre-order, children are linked in ascending
+ * letter order ({@link #firstChild}, {@link #nextSibling}). Since words are
+ * inserted in sorted order, the word ids below a node form the contiguous
+ * range [{@link #rangeFrom}, {@link #rangeTo}). Every node is annotated with
+ * the maximum weight of the words below it, which lets {@link #topK} visit
+ * only the branches that can still contribute, and the node of a word with
+ * the word's own weight.
+ */
+public class WordTrie {
+
+    public static final int ROOT = 0;
+
+    public static final int NONE = -1;
+
+    private static final int LETTERS = 26;
+
+    private char[] labels;
+
+    private int[] firstChild;
+
+    private int[] nextSibling;
+
+    private int[] wordIds;
+
+    private int[] rangeFrom;
+
+    private int[] rangeTo;
+
+    private long[] maxWeights;
+
+    private long[] wordWeights;
+
+    private int nodeCount;
+
+    /**
+     * @param values   The words, sorted ascending and unique; the word id is the index.
+     * @param weights  The weight of each word.
+     */
+    WordTrie(String[] values, long[] weights) {
+        int capacity = Math.max(16, values.length * 2);
+        labels = new char[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        wordIds = new int[capacity];
+        rangeFrom = new int[capacity];
+        rangeTo = new int[capacity];
+        maxWeights = new long[capacity];
+        wordWeights = new long[capacity];
+        int[] lastChild = new int[capacity];
+        int[] parents = new int[capacity];
+
+        newNode('\0', 0);
+        lastChild[ROOT] = NONE;
+        parents[ROOT] = NONE;
+        for (int id = 0; id < values.length; id += 1) {
+            String value = values[id];
+            int node = ROOT;
+            rangeTo[node] = id + 1;
+            for (int ix = 0; ix < value.length(); ix += 1) {
+                char c = value.charAt(ix);
+                int last = lastChild[node];
+                if (last != NONE && labels[last] == c) {
+                    node = last;
+                } else {
+                    int child = newNode(c, id);
+                    if (child >= lastChild.length) {
+                        lastChild = Arrays.copyOf(lastChild, labels.length);
+                        parents = Arrays.copyOf(parents, labels.length);
+                    }
+                    lastChild[child] = NONE;
+                    parents[child] = node;
+                    if (last == NONE) {
+                        firstChild[node] = child;
+                    } else {
+                        nextSibling[last] = child;
+                    }
+                    lastChild[node] = child;
+                    node = child;
+                }
+                rangeTo[node] = id + 1;
+            }
+            wordIds[node] = id;
+            wordWeights[node] = weights[id];
+            maxWeights[node] = Math.max(maxWeights[node], weights[id]);
+        }
+
+        // nodes are in pre-order, so children always come after their parent
+        for (int node = nodeCount - 1; node > ROOT; node -= 1) {
+            int parent = parents[node];
+            maxWeights[parent] = Math.max(maxWeights[parent], maxWeights[node]);
+        }
+        trimToSize();
+    }
+
+    private int newNode(char label, int id) {
+        if (nodeCount == labels.length) {
+            int capacity = labels.length + (labels.length >> 1);
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            wordIds = Arrays.copyOf(wordIds, capacity);
+            rangeFrom = Arrays.copyOf(rangeFrom, capacity);
+            rangeTo = Arrays.copyOf(rangeTo, capacity);
+            maxWeights = Arrays.copyOf(maxWeights, capacity);
+            wordWeights = Arrays.copyOf(wordWeights, capacity);
+        }
+        int node = nodeCount++;
+        labels[node] = label;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        wordIds[node] = NONE;
+        rangeFrom[node] = id;
+        rangeTo[node] = id;
+        maxWeights[node] = Long.MIN_VALUE;
+        wordWeights[node] = Long.MIN_VALUE;
+        return node;
+    }
+
+    private void trimToSize() {
+        labels = Arrays.copyOf(labels, nodeCount);
+        firstChild = Arrays.copyOf(firstChild, nodeCount);
+        nextSibling = Arrays.copyOf(nextSibling, nodeCount);
+        wordIds = Arrays.copyOf(wordIds, nodeCount);
+        rangeFrom = Arrays.copyOf(rangeFrom, nodeCount);
+        rangeTo = Arrays.copyOf(rangeTo, nodeCount);
+        maxWeights = Arrays.copyOf(maxWeights, nodeCount);
+        wordWeights = Arrays.copyOf(wordWeights, nodeCount);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return  The estimated bytes retained, see {@link Footprint}.
+     */
+    long estimatedBytes() {
+        return Footprint.ofObject(8, Integer.BYTES)
+                + Footprint.of(labels) + Footprint.of(firstChild) + Footprint.of(nextSibling)
+                + Footprint.of(wordIds) + Footprint.of(rangeFrom) + Footprint.of(rangeTo)
+                + Footprint.of(maxWeights) + Footprint.of(wordWeights);
+    }
+
+    public char label(int node) {
+        return labels[node];
+    }
+
+    public int firstChild(int node) {
+        return firstChild[node];
+    }
+
+    public int nextSibling(int node) {
+        return nextSibling[node];
+    }
+
+    /**
+     * @return  The id of the word ending at `node`, or {@link #NONE}.
+     */
+    public int wordId(int node) {
+        return wordIds[node];
+    }
+
+    public int rangeFrom(int node) {
+        return rangeFrom[node];
+    }
+
+    public int rangeTo(int node) {
+        return rangeTo[node];
+    }
+
+    public long maxWeight(int node) {
+        return maxWeights[node];
+    }
+
+    /**
+     * @return  The weight of the word ending at `node`, when {@link #wordId} is not {@link #NONE}.
+     */
+    public long wordWeight(int node) {
+        return wordWeights[node];
+    }
+
+    /**
+     * @return  The child of `node` labelled `c`, or {@link #NONE}.
+     */
+    public int child(int node, char c) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (labels[child] == c) {
+                return child;
+            }
+            if (labels[child] > c) {
+                break;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * @return  The node reached by following `prefix` from root, or {@link #NONE}.
+     */
+    public int find(String prefix) {
+        int node = ROOT;
+        for (int ix = 0; ix < prefix.length() && node != NONE; ix += 1) {
+            node = child(node, prefix.charAt(ix));
+        }
+        return node;
+    }
+
+    /**
+     * Finds the `k` heaviest words below `node`, best-first: a branch is only
+     * expanded when its max weight beats everything still queued, so the
+     * work is proportional to `k` (times depth), not to the subtree size.
+     * Ties are broken by dictionary order.
+     *
+     * @param node  The subtree root, e.g. from {@link #find(String)}.
+     * @param k     The maximum number of words.
+     * @return  The word ids, heaviest first.
+     */
+    public List<Integer> topK(int node, int k) {
+        List<Integer> ids = new ArrayList<>(Math.min(k, 64));
+        if (node == NONE || k <= 0) {
+            return ids;
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        queue.add(new Candidate(maxWeights[node], rangeFrom[node], node, false));
+        while (!queue.isEmpty() && ids.size() < k) {
+            Candidate top = queue.poll();
+            if (top.word) {
+                ids.add(wordIds[top.node]);
+                continue;
+            }
+            if (wordIds[top.node] != NONE) {
+                queue.add(new Candidate(wordWeights[top.node], wordIds[top.node], top.node, true));
+            }
+            for (int child = firstChild[top.node]; child != NONE; child = nextSibling[child]) {
+                queue.add(new Candidate(maxWeights[child], rangeFrom[child], child, false));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Finds the words within `maxDistance` edits of `target`, where an edit
+     * is an insertion, deletion, substitution or transposition of adjacent
+     * letters (optimal string alignment distance).
+     *
+     * <p>Walks the tree depth-first, computing one row of the edit distance
+     * matrix per node, and abandons a branch as soon as every cell of its
+     * row exceeds `maxDistance`; shared prefixes are computed once.
+     *
+     * @param target       The (lower case) word to match.
+     * @param maxDistance  The maximum edit distance, inclusive.
+     * @return  The matching words with their distance, in dictionary order.
+     */
+    public List<Match> withinDistance(String target, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (maxDistance < 0) {
+            return matches;
+        }
+        char[] chars = target.toCharArray();
+        int maxDepth = chars.length + maxDistance;
+        int[][] rows = new int[maxDepth + 1][chars.length + 1];
+        for (int col = 0; col <= chars.length; col += 1) {
+            rows[0][col] = col;
+        }
+        if (wordIds[ROOT] != NONE && chars.length <= maxDistance) {
+            matches.add(new Match(wordIds[ROOT], chars.length));
+        }
+        char[] path = new char[maxDepth + 1];
+        for (int child = firstChild[ROOT]; child != NONE; child = nextSibling[child]) {
+            walk(child, 1, chars, maxDistance, rows, path, matches);
+        }
+        return matches;
+    }
+
+    private void walk(int node, int depth, char[] target, int maxDistance,
+            int[][] rows, char[] path, List<Match> matches) {
+        char c = labels[node];
+        path[depth] = c;
+        int[] row = rows[depth];
+        int[] above = rows[depth - 1];
+        row[0] = depth;
+        int rowMin = depth;
+        for (int col = 1; col <= target.length; col += 1) {
+            int cost = target[col - 1] == c ? 0 : 1;
+            int value = Math.min(Math.min(row[col - 1] + 1, above[col] + 1), above[col - 1] + cost);
+            if (depth > 1 && col > 1 && c == target[col - 2] && path[depth - 1] == target[col - 1]) {
+                value = Math.min(value, rows[depth - 2][col - 2] + 1);
+            }
+            row[col] = value;
+            rowMin = Math.min(rowMin, value);
+        }
+        if (rowMin > maxDistance) {
+            return;
+        }
+        if (wordIds[node] != NONE && row[target.length] <= maxDistance) {
+            matches.add(new Match(wordIds[node], row[target.length]));
+        }
+        if (depth < rows.length - 1) {
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                walk(child, depth + 1, target, maxDistance, rows, path, matches);
+            }
+        }
+    }
+
+    /**
+     * Finds the words matching a wildcard `pattern`, where {@code ?} matches
+     * exactly one letter and {@code *} matches any number of letters
+     * (including none). Leading literals simply descend the tree; each
+     * (node, pattern position) state is expanded at most once, so runs of
+     * {@code *} cannot blow up into repeated sub-walks.
+     *
+     * @param pattern  The (lower case) pattern.
+     * @return  The ids of the words matching, ascending.
+     */
+    public int[] matchPattern(String pattern) {
+        char[] chars = pattern.toCharArray();
+        IntList ids = new IntList();
+        matchPattern(ROOT, 0, chars, new BitSet(), ids);
+        int[] result = ids.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void matchPattern(int node, int pos, char[] pattern, BitSet visited, IntList ids) {
+        int state = node * (pattern.length + 1) + pos;
+        if (visited.get(state)) {
+            return;
+        }
+        visited.set(state);
+        if (pos == pattern.length) {
+            if (wordIds[node] != NONE) {
+                ids.add(wordIds[node]);
+            }
+            return;
+        }
+        char p = pattern[pos];
+        if (p == '*') {
+            matchPattern(node, pos + 1, pattern, visited, ids);
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                matchPattern(child, pos, pattern, visited, ids);
+            }
+        } else if (p == '?') {
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                matchPattern(child, pos + 1, pattern, visited, ids);
+            }
+        } else {
+            int child = child(node, p);
+            if (child != NONE) {
+                matchPattern(child, pos + 1, pattern, visited, ids);
+            }
+        }
+    }
+
+    /**
+     * Visits every word which can be spelt from a rack of tiles: `counts`
+     * tiles of each letter 'a' to 'z' plus `blanks` tiles standing for any
+     * letter. Only branches spellable with the tiles left are walked, so
+     * blanks widen the walk to the words actually in the tree, instead of
+     * trying every letter for every blank.
+     *
+     * <p>A real tile is used whenever one is left, a blank only otherwise,
+     * which plays as many real tiles as possible for every word.
+     *
+     * @param counts    The number of tiles of each letter (0 to 25); restored on return.
+     * @param blanks    The number of blank tiles.
+     * @param visitor   Called for each word with its id and the letters (word order) played with blanks.
+     */
+    public void spell(int[] counts, int blanks, RackVisitor visitor) {
+        int tiles = blanks;
+        for (int count : counts) {
+            tiles += count;
+        }
+        spell(ROOT, counts, blanks, tiles, 0, new StringBuilder(), visitor);
+    }
+
+    private void spell(int node, int[] counts, int blanks, int maxDepth, int depth,
+            StringBuilder blanked, RackVisitor visitor) {
+        if (wordIds[node] != NONE && depth > 0) {
+            visitor.visit(wordIds[node], blanked);
+        }
+        if (depth == maxDepth) {
+            return;
+        }
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            int letter = labels[child] - 'a';
+            if (letter < 0 || letter >= counts.length) {
+                continue;
+            }
+            if (counts[letter] > 0) {
+                counts[letter] -= 1;
+                spell(child, counts, blanks, maxDepth, depth + 1, blanked, visitor);
+                counts[letter] += 1;
+            } else if (blanks > 0) {
+                blanked.append(labels[child]);
+                spell(child, counts, blanks - 1, maxDepth, depth + 1, blanked, visitor);
+                blanked.setLength(blanked.length() - 1);
+            }
+        }
+    }
+
+    /**
+     * Receives the words found by {@link WordTrie#spell(int[], int, RackVisitor)}.
+     */
+    @FunctionalInterface
+    public interface RackVisitor {
+
+        /**
+         * @param id       The word id.
+         * @param blanked  The letters played with blank tiles, in word order; only valid during the call.
+         */
+        void visit(int id, CharSequence blanked);
+
+    }
+
+    /**
+     * Finds the words traceable through a square grid of letters: a path of
+     * horizontally, vertically or diagonally adjacent cells, each cell used
+     * at most once per word.
+     *
+     * <p>The grid and the tree are walked together, so a path is abandoned
+     * as soon as no word continues with its letters. Cells are bits of a
+     * long: each cell has a mask of its neighbours and each letter a mask of
+     * its cells, so the next cells of a path are
+     * {@code neighbours & ~visited & cellsOf[letter]}, without allocating.
+     *
+     * @param cells      The (lower case) letters of the grid, row by row, `size` * `size` of them.
+     * @param size       The number of rows (and columns), at most 8.
+     * @param minLength  The minimum length of a word.
+     * @return  The ids of the words found, ascending.
+     */
+    public int[] traceGrid(String cells, int size, int minLength) {
+        int count = size * size;
+        if (size <= 0 || size > 8 || cells.length() != count) {
+            throw new IllegalArgumentException("Expect " + count + " cells for grid of size " + size + ", 8 at most");
+        }
+        long[] neighbours = new long[count];
+        long[] cellsOf = new long[LETTERS];
+        for (int cell = 0; cell < count; cell += 1) {
+            int row = cell / size;
+            int col = cell % size;
+            for (int dr = -1; dr <= 1; dr += 1) {
+                for (int dc = -1; dc <= 1; dc += 1) {
+                    int r = row + dr;
+                    int c = col + dc;
+                    if ((dr != 0 || dc != 0) && r >= 0 && r < size && c >= 0 && c < size) {
+                        neighbours[cell] |= 1L << (r * size + c);
+                    }
+                }
+            }
+            int letter = cells.charAt(cell) - 'a';
+            if (letter >= 0 && letter < LETTERS) {
+                cellsOf[letter] |= 1L << cell;
+            }
+        }
+        BitSet found = new BitSet(size());
+        long all = count == 64 ? -1L : (1L << count) - 1;
+        for (int child = firstChild[ROOT]; child != NONE; child = nextSibling[child]) {
+            int letter = labels[child] - 'a';
+            if (letter < 0 || letter >= LETTERS) {
+                continue;
+            }
+            for (long starts = all & cellsOf[letter]; starts != 0; starts &= starts - 1) {
+                int cell = Long.numberOfTrailingZeros(starts);
+                trace(child, cell, 1L << cell, 1, neighbours, cellsOf, minLength, found);
+            }
+        }
+        int[] ids = new int[found.cardinality()];
+        int ix = 0;
+        for (int id = found.nextSetBit(0); id >= 0; id = found.nextSetBit(id + 1)) {
+            ids[ix++] = id;
+        }
+        return ids;
+    }
+
+    private void trace(int node, int cell, long visited, int depth,
+            long[] neighbours, long[] cellsOf, int minLength, BitSet found) {
+        if (wordIds[node] != NONE && depth >= minLength) {
+            found.set(wordIds[node]);
+        }
+        long next = neighbours[cell] & ~visited;
+        if (next == 0) {
+            return;
+        }
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            int letter = labels[child] - 'a';
+            if (letter < 0 || letter >= LETTERS) {
+                continue;
+            }
+            for (long cells = next & cellsOf[letter]; cells != 0; cells &= cells - 1) {
+                int to = Long.numberOfTrailingZeros(cells);
+                trace(child, to, visited | (1L << to), depth + 1, neighbours, cellsOf, minLength, found);
+            }
+        }
+    }
+
+    /**
+     * @return  The number of words in the tree.
+     */
+    public int size() {
+        return nodeCount == 0 ? 0 : rangeTo[ROOT] - rangeFrom[ROOT];
+    }
+
+    /*
+     * Growable list of primitive ints.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[16];
+
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+    }
+
+    /**
+     * A word id found by {@link #withinDistance(String, int)}, with its edit distance.
+     */
+    public static final class Match {
+
+        private final int id;
+
+        private final int distance;
+
+        Match(int id, int distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+    }
+
+    /*
+     * A queued word, or a queued branch bounded by its max weight. The word
+     * ending at a node sorts before its own descendants (same first id).
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+
+        private final long weight;
+
+        private final int firstId;
+
+        private final int node;
+
+        private final boolean word;
+
+        Candidate(long weight, int firstId, int node, boolean word) {
+            this.weight = weight;
+            this.firstId = firstId;
+            this.node = node;
+            this.word = word;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int cmp = Long.compare(other.weight, weight);
+            if (cmp == 0) {
+                cmp = Integer.compare(firstId, other.firstId);
+            }
+            if (cmp == 0) {
+                cmp = Boolean.compare(other.word, word);
+            }
+            return cmp;
+        }
+
+    }
+
+}
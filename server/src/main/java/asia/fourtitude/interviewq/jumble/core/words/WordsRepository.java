@@ -1,13 +1,15 @@
 package asia.fourtitude.interviewq.jumble.core.words;
 
-import org.springframework.stereotype.Repository;
-
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
 /**
  * Classpath-loader responsible for constructing the full collection of
@@ -15,53 +17,350 @@ import java.util.*;
  *
  * <p>Each {@link Word} is constructed directly via its all-args constructor,
  * with all derived fields ({@code length}, {@code prefix}, {@code postfix},
- * {@code palindrome}) computed here before construction.
+ * {@code palindrome}) computed here before construction. A line may carry an
+ * optional weight column ({@code word<whitespace>weight}) used to rank
+ * completions.
+ *
+ * <p>Words are kept sorted and unique; the position of a word in
+ * {@link #getWordsAsList()} is its <em>id</em>, which the indexes built at
+ * load time refer to. The time taken by each step of the load is kept, and
+ * the memory footprint of each structure can be estimated, see
+ * {@link #getFootprint()}.
  *
  * <p>Business-logic (filtering, random selection, etc.) lives in
  * {@link asia.fourtitude.interviewq.jumble.core.JumbleEngine}.
+ *
+ * <p>The application bean is defined by {@code AppConfig}, possibly loaded
+ * ahead by {@code DictionaryPreloader}.
  */
-@Repository
 public class WordsRepository {
 
+    private static final Pattern WEIGHT_SEPARATOR = Pattern.compile("\\s+");
+
     private final List<Word> words;
 
+    private final String[] values;
+
+    private final int[] palindromeIds;
+
+    private final SearchIndex searchIndex;
+
+    private final WordTrie trie;
+
+    private final PositionIndex positionIndex;
+
+    private final SuffixIndex suffixIndex;
+
+    private final TrigramIndex trigramIndex;
+
+    private final AnagramIndex anagramIndex;
+
+    private final LadderIndex ladderIndex;
+
+    private final String version;
+
+    /*
+     * The nanoseconds taken by each step of the load, by structure built.
+     */
+    private final Map<String, Long> buildNanos = new LinkedHashMap<>();
+
     /**
      * Loads every line from {@code words.txt} (classpath) into a {@link Word} list.
      * Uses try-with-resources to ensure the stream is always closed.
      */
     public WordsRepository() {
-        List<Word> loaded = new ArrayList<>();
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream("words.txt");
-             BufferedReader reader = new BufferedReader(
-                     new InputStreamReader(
-                             Objects.requireNonNull(is, "words.txt not found on classpath"),
-                             StandardCharsets.UTF_8))) {
+        this(loadClasspath("words.txt"));
+    }
+
+    /**
+     * Loads a dictionary from `source`, one word per line, optionally followed
+     * by whitespace and an integer weight (e.g. a corpus frequency). Words
+     * without a weight default to 0; duplicates keep the largest weight.
+     *
+     * @param source  The dictionary lines; not closed by this constructor.
+     */
+    public WordsRepository(Reader source) {
+        this(parse(source));
+    }
+
+    private WordsRepository(Parsed parsed) {
+        SortedMap<String, Long> loaded = parsed.words;
+        buildNanos.put("parse", parsed.nanos);
+        long start = System.nanoTime();
+        List<Word> list = new ArrayList<>(loaded.size());
+        List<Integer> palindromes = new ArrayList<>();
+        long[] weights = new long[loaded.size()];
+        CRC32 crc = new CRC32();
+        for (Map.Entry<String, Long> entry : loaded.entrySet()) {
+            String v = entry.getKey();
+            crc.update((v + '\t' + entry.getValue() + '\n').getBytes(StandardCharsets.UTF_8));
+            int length      = v.length();
+            Character prefix  = v.charAt(0);
+            Character postfix = v.charAt(length - 1);
+            boolean palindrome = length >= 2
+                    && new StringBuilder(v).reverse().toString().equals(v);
+            if (palindrome) {
+                palindromes.add(list.size());
+            }
+            weights[list.size()] = entry.getValue();
+            list.add(new Word(v, length, prefix, postfix, palindrome, entry.getValue()));
+        }
+        this.words = Collections.unmodifiableList(list);
+        this.values = loaded.keySet().toArray(new String[0]);
+        this.palindromeIds = palindromes.stream().mapToInt(Integer::intValue).toArray();
+        this.version = String.format("%08x", crc.getValue());
+        start = lap("words", start);
+        this.searchIndex = new SearchIndex(list);
+        start = lap("search", start);
+        this.trie = new WordTrie(values, weights);
+        start = lap("trie", start);
+        this.positionIndex = new PositionIndex(values, searchIndex);
+        start = lap("position", start);
+        this.suffixIndex = new SuffixIndex(values);
+        start = lap("suffix", start);
+        this.trigramIndex = new TrigramIndex(values);
+        start = lap("trigram", start);
+        this.anagramIndex = new AnagramIndex(values);
+        start = lap("anagram", start);
+        this.ladderIndex = new LadderIndex(values);
+    }
 
+    private long lap(String structure, long start) {
+        long now = System.nanoTime();
+        buildNanos.put(structure, now - start);
+        return now;
+    }
+
+    private static Parsed loadClasspath(String name) {
+        try (InputStream is = WordsRepository.class.getClassLoader().getResourceAsStream(name);
+             Reader reader = new InputStreamReader(
+                     Objects.requireNonNull(is, name + " not found on classpath"),
+                     StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load " + name, e);
+        }
+    }
+
+    private static Parsed parse(Reader source) {
+        long start = System.nanoTime();
+        SortedMap<String, Long> loaded = new TreeMap<>();
+        BufferedReader reader = new BufferedReader(source);
+        try {
             String line;
+            int lineNumber = 0;
             while ((line = reader.readLine()) != null) {
+                lineNumber += 1;
                 String trimmed = line.trim();
-                if (!trimmed.isEmpty()) {
-                    String v = trimmed.toLowerCase();
-                    int length      = v.length();
-                    Character prefix  = v.charAt(0);
-                    Character postfix = v.charAt(length - 1);
-                    boolean palindrome = length >= 2
-                            && new StringBuilder(v).reverse().toString().equals(v);
-                    loaded.add(new Word(v, length, prefix, postfix, palindrome));
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                String[] fields = WEIGHT_SEPARATOR.split(trimmed, 2);
+                long weight = 0;
+                if (fields.length == 2) {
+                    try {
+                        weight = Long.parseLong(fields[1].trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalStateException(
+                                "Invalid weight at dictionary line " + lineNumber + ": " + line, e);
+                    }
                 }
+                loaded.merge(fields[0].toLowerCase(), weight, Math::max);
             }
         } catch (IOException e) {
-            throw new IllegalStateException("Failed to load words.txt", e);
+            throw new IllegalStateException("Failed to read dictionary", e);
         }
-        this.words = Collections.unmodifiableList(loaded);
+        return new Parsed(loaded, System.nanoTime() - start);
     }
 
     /**
      * Returns every word loaded from the dictionary.
      *
-     * @return unmodifiable list of {@link Word} objects
+     * @return unmodifiable list of {@link Word} objects, sorted, indexed by id
      */
     public List<Word> getWordsAsList() {
         return words;
     }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return  The version of the dictionary: the CRC-32 (hex) of its words
+     *          and weights, in order.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Reports the estimated memory footprint of the dictionary, for sizing
+     * heaps: per structure, its estimated retained bytes (see
+     * {@link Footprint}, not measured) and the time taken to build it, the
+     * total load time, and the counters of the caches built on use.
+     *
+     * @return  The snapshot of the footprint.
+     */
+    public Map<String, Object> getFootprint() {
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        bytes.put("words", wordsBytes());
+        bytes.put("search", searchIndex.estimatedBytes());
+        bytes.put("trie", trie.estimatedBytes());
+        bytes.put("position", positionIndex.estimatedBytes());
+        bytes.put("suffix", suffixIndex.estimatedBytes());
+        bytes.put("trigram", trigramIndex.estimatedBytes());
+        bytes.put("anagram", anagramIndex.estimatedBytes());
+        bytes.put("ladder", ladderIndex.estimatedBytes());
+        List<Map<String, Object>> structures = new ArrayList<>();
+        long totalBytes = 0;
+        for (Map.Entry<String, Long> entry : bytes.entrySet()) {
+            Map<String, Object> structure = new LinkedHashMap<>();
+            structure.put("name", entry.getKey());
+            structure.put("bytes", entry.getValue());
+            Long nanos = buildNanos.get(entry.getKey());
+            if (nanos != null) {
+                structure.put("build_ms", toMillis(nanos));
+            }
+            structures.add(structure);
+            totalBytes += entry.getValue();
+        }
+        long loadNanos = 0;
+        for (long nanos : buildNanos.values()) {
+            loadNanos += nanos;
+        }
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("ladder", ladderIndex.getStats());
+        Map<String, Object> footprint = new LinkedHashMap<>();
+        footprint.put("version", version);
+        footprint.put("words", values.length);
+        footprint.put("parse_ms", toMillis(buildNanos.get("parse")));
+        footprint.put("load_ms", toMillis(loadNanos));
+        footprint.put("total_bytes", totalBytes);
+        footprint.put("structures", structures);
+        footprint.put("caches", caches);
+        return footprint;
+    }
+
+    /*
+     * The words: their strings and Word objects (sharing the strings), the
+     * list and array of them, and the palindrome ids.
+     */
+    private long wordsBytes() {
+        long bytes = Footprint.ofArray(values.length, Footprint.REFERENCE) + Footprint.of(palindromeIds);
+        for (String value : values) {
+            bytes += Footprint.of(value);
+        }
+        // value, prefix and postfix (cached boxes); length, palindrome, weight
+        bytes += values.length * Footprint.ofObject(3, Integer.BYTES + 1 + Long.BYTES);
+        // unmodifiable view of an array list
+        bytes += Footprint.ofObject(2, 0) + Footprint.ofObject(1, 2 * Integer.BYTES)
+                + Footprint.ofArray(words.size(), Footprint.REFERENCE);
+        return bytes;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 100) / 100.0;
+    }
+
+    /**
+     * @param id  The word id.
+     * @return  The word value of `id`.
+     */
+    public String getValue(int id) {
+        return values[id];
+    }
+
+    /**
+     * @param value  The (lower case) word to look up.
+     * @return  The id of `value`, or negative when not in dictionary.
+     */
+    public int idOf(String value) {
+        int id = Arrays.binarySearch(values, value);
+        return id >= 0 ? id : -1;
+    }
+
+    /**
+     * Finds the contiguous range of ids of words beginning with `prefix`.
+     *
+     * @param prefix  The (lower case) prefix.
+     * @return  Two elements, {from (inclusive), to (exclusive)}; empty range when none matching.
+     */
+    public int[] prefixRange(String prefix) {
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE);
+        return new int[] { from, to };
+    }
+
+    /**
+     * @return  The ids of palindrome words, ascending.
+     */
+    public int[] getPalindromeIds() {
+        return palindromeIds;
+    }
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * @return  The prefix tree over all words, annotated with max weights.
+     */
+    public WordTrie getTrie() {
+        return trie;
+    }
+
+    public PositionIndex getPositionIndex() {
+        return positionIndex;
+    }
+
+    /**
+     * @return  The ids in reversed-word (rhyme) order, for suffix lookups.
+     */
+    public SuffixIndex getSuffixIndex() {
+        return suffixIndex;
+    }
+
+    public TrigramIndex getTrigramIndex() {
+        return trigramIndex;
+    }
+
+    public AnagramIndex getAnagramIndex() {
+        return anagramIndex;
+    }
+
+    /**
+     * @return  The word ladder search, whose buckets are built per length on first use.
+     */
+    public LadderIndex getLadderIndex() {
+        return ladderIndex;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static final class Parsed {
+
+        private final SortedMap<String, Long> words;
+
+        private final long nanos;
+
+        Parsed(SortedMap<String, Long> words, long nanos) {
+            this.words = words;
+            this.nanos = nanos;
+        }
+
+    }
+
 }
@@ -0,0 +1,69 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public {@link asia.fourtitude.interviewq.jumble.core.JumbleEngine}
+ * operation called through the Spring bean, as the timer
+ * {@value #TIMER} tagged by `operation` (the method name) and `outcome`
+ * (success or error).
+ *
+ * <p>Timers are looked up once per operation and outcome, then cached; a
+ * recording is two clock reads and adder increments, so it can stay on.
+ * Calls of the engine on itself are not timed.
+ */
+@Aspect
+public class EngineMetricsAspect {
+
+    public static final String TIMER = "jumble.engine.operation";
+
+    private final MeterRegistry registry;
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public EngineMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * asia.fourtitude.interviewq.jumble.core.JumbleEngine.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            timerOf(joinPoint.getSignature().getName(), failed)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timerOf(String operation, boolean failed) {
+        String key = failed ? operation + "/error" : operation;
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> Timer.builder(TIMER)
+                    .description("The duration of JumbleEngine operations")
+                    .tag("operation", operation)
+                    .tag("outcome", failed ? "error" : "success")
+                    .publishPercentiles(GameMetrics.PERCENTILES)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry));
+        }
+        return timer;
+    }
+
+}
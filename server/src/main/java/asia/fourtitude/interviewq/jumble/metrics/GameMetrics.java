@@ -0,0 +1,95 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of the game actions: the timer {@value #TIMER} by `action`, the
+ * counter {@value #GUESSES} by `outcome`, and the gauge {@value #LIVE_GAMES}.
+ *
+ * <p>All the meters are registered up front, so recording is a clock read
+ * and striped adder increments, without lookups.
+ */
+public class GameMetrics {
+
+    public static final String TIMER = "jumble.game.action";
+
+    public static final String GUESSES = "jumble.game.guesses";
+
+    public static final String LIVE_GAMES = "jumble.game.live";
+
+    static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    public enum Action {
+        NEW,
+        NEW_GRID,
+        GUESS
+    }
+
+    public enum Outcome {
+        CORRECT,
+        INCORRECT,
+        ALL_GUESSED,
+        NOT_FOUND
+    }
+
+    private final MeterRegistry registry;
+
+    private final Map<Action, Timer> timers = new EnumMap<>(Action.class);
+
+    private final Map<Outcome, Counter> guesses = new EnumMap<>(Outcome.class);
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Action action : Action.values()) {
+            timers.put(action, Timer.builder(TIMER)
+                    .description("The duration of game actions")
+                    .tag("action", tagOf(action))
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            guesses.put(outcome, Counter.builder(GUESSES)
+                    .description("The number of guesses played")
+                    .tag("outcome", tagOf(outcome))
+                    .register(registry));
+        }
+    }
+
+    private static String tagOf(Enum<?> value) {
+        return value.name().toLowerCase().replace('_', '-');
+    }
+
+    /**
+     * @param action      The action performed.
+     * @param startNanos  The {@link System#nanoTime()} when the action started.
+     */
+    public void record(Action action, long startNanos) {
+        timers.get(action).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countGuess(Outcome outcome) {
+        guesses.get(outcome).increment();
+    }
+
+    /**
+     * Registers the gauge of the number of live games, read from `games`;
+     * the gauge does not keep `games` from being collected.
+     */
+    public void gaugeLiveGames(Map<?, ?> games) {
+        Gauge.builder(LIVE_GAMES, games, Map::size)
+                .description("The number of games in memory")
+                .register(registry);
+    }
+
+}
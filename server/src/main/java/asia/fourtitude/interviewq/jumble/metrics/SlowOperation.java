@@ -0,0 +1,108 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One call slower than the threshold of {@link SlowOperationLog}: what was
+ * called, with which arguments, how long it took and how much it returned.
+ */
+@JsonInclude(Include.NON_NULL)
+public /* record */ class SlowOperation {
+
+    private final long sequence;
+
+    private final Instant time;
+
+    private final String operation;
+
+    private final String thread;
+
+    private final long durationMicros;
+
+    private final List<String> arguments;
+
+    private final Integer resultSize;
+
+    private final String error;
+
+    public SlowOperation(long sequence, Instant time, String operation, String thread, long durationMicros,
+            List<String> arguments, Integer resultSize, String error) {
+        this.sequence = sequence;
+        this.time = time;
+        this.operation = operation;
+        this.thread = thread;
+        this.durationMicros = durationMicros;
+        this.arguments = arguments;
+        this.resultSize = resultSize;
+        this.error = error;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return  When the call started.
+     */
+    public Instant getTime() {
+        return time;
+    }
+
+    /**
+     * @return  The class (simple name) and method called, e.g. "JumbleEngine.generateSubWords".
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    @JsonProperty("duration_micros")
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @return  The number of items returned, or null when not a collection
+     *          (nor a page, partial result or response of one).
+     */
+    @JsonProperty("result_size")
+    public Integer getResultSize() {
+        return resultSize;
+    }
+
+    /**
+     * @return  The class of the exception thrown, or null when returned.
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("sequence=[").append(sequence).append(']');
+        sb.append(", operation=[").append(operation).append(']');
+        sb.append(", durationMicros=[").append(durationMicros).append(']');
+        sb.append(", arguments=").append(arguments);
+        if (resultSize != null) {
+            sb.append(", resultSize=[").append(resultSize).append(']');
+        }
+        if (error != null) {
+            sb.append(", error=[").append(error).append(']');
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,129 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.Page;
+import asia.fourtitude.interviewq.jumble.core.PartialResult;
+import asia.fourtitude.interviewq.jumble.model.GameBoard;
+import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
+import asia.fourtitude.interviewq.jumble.model.GameGuessOutput;
+
+/**
+ * Records the public {@link asia.fourtitude.interviewq.jumble.core.JumbleEngine}
+ * operations and controller handlers which take longer than the threshold
+ * of {@link SlowOperationLog}, with their arguments and result size.
+ *
+ * <p>A fast call costs two clock reads and a comparison; arguments are only
+ * described once a call is known to be slow. Only simple values and the
+ * application's own types are described by value (truncated to
+ * {@value #MAX_ARGUMENT_LENGTH} characters), others by class name, e.g. the
+ * request or model of a handler. So are the game types: they carry the game
+ * id, which is all it takes to play a game, or the answers.
+ */
+@Aspect
+public class SlowOperationAspect {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlowOperationAspect.class);
+
+    static final int MAX_ARGUMENT_LENGTH = 200;
+
+    private static final String APPLICATION_PACKAGE = "asia.fourtitude.interviewq.jumble.";
+
+    /*
+     * Application types never described by value.
+     */
+    private static final Set<Class<?>> REDACTED_TYPES = new HashSet<>(Arrays.asList(
+            GameState.class, GameBoard.class, GameGuessInput.class, GameGuessModel.class, GameGuessOutput.class));
+
+    private final SlowOperationLog slowOperationLog;
+
+    public SlowOperationAspect(SlowOperationLog slowOperationLog) {
+        this.slowOperationLog = slowOperationLog;
+    }
+
+    @Around("execution(public * asia.fourtitude.interviewq.jumble.core.JumbleEngine.*(..))"
+            + " || execution(public * asia.fourtitude.interviewq.jumble.controller..*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            long duration = System.nanoTime() - start;
+            if (slowOperationLog.isSlow(duration)) {
+                record(joinPoint, duration, null, e.getClass().getName());
+            }
+            throw e;
+        }
+        long duration = System.nanoTime() - start;
+        if (slowOperationLog.isSlow(duration)) {
+            record(joinPoint, duration, sizeOf(result), null);
+        }
+        return result;
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, long duration, Integer resultSize, String error) {
+        Object[] args = joinPoint.getArgs();
+        List<String> arguments = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            arguments.add(describe(arg));
+        }
+        String operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        SlowOperation entry = slowOperationLog.record(operation, duration, arguments, resultSize, error);
+        LOG.debug("record: {}", entry);
+    }
+
+    static String describe(Object arg) {
+        String value;
+        if (arg == null) {
+            value = "null";
+        } else if (arg instanceof int[]) {
+            value = Arrays.toString((int[]) arg);
+        } else if (REDACTED_TYPES.contains(arg.getClass())) {
+            return arg.getClass().getSimpleName();
+        } else if (arg instanceof CharSequence || arg instanceof Number || arg instanceof Character
+                || arg instanceof Boolean || arg instanceof Enum
+                || arg.getClass().getName().startsWith(APPLICATION_PACKAGE)) {
+            value = arg.toString();
+        } else {
+            return arg.getClass().getSimpleName();
+        }
+        return value.length() > MAX_ARGUMENT_LENGTH ? value.substring(0, MAX_ARGUMENT_LENGTH) + "..." : value;
+    }
+
+    /*
+     * The number of items of a result, looking into pages, partial results
+     * and responses; null when not a collection.
+     */
+    static Integer sizeOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        } else if (result instanceof Page) {
+            return ((Page<?>) result).getItems().size();
+        } else if (result instanceof PartialResult) {
+            return sizeOf(((PartialResult<?>) result).getValue());
+        } else if (result instanceof HttpEntity) {
+            return sizeOf(((HttpEntity<?>) result).getBody());
+        }
+        return null;
+    }
+
+}
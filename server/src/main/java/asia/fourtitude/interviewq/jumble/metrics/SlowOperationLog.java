@@ -0,0 +1,101 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The last `capacity` slow calls, in a lock-free ring buffer: a writer
+ * claims the next sequence number with one atomic increment and stores its
+ * entry in the slot of that number, overwriting the oldest. Readers take a
+ * snapshot without blocking writers, skipping slots already overwritten by
+ * newer entries.
+ */
+public class SlowOperationLog {
+
+    private final long thresholdNanos;
+
+    private final AtomicReferenceArray<SlowOperation> slots;
+
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowOperationLog(long thresholdMillis, int capacity) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("Invalid thresholdMillis=[" + thresholdMillis + "], expect zero or positive integer");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity=[" + capacity + "], expect positive integer");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @param durationNanos  The duration of a call.
+     * @return  True when the call is slow, to be recorded.
+     */
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= thresholdNanos;
+    }
+
+    /**
+     * Records a slow call, overwriting the oldest when full.
+     *
+     * @param operation      The class (simple name) and method called.
+     * @param durationNanos  The duration of the call.
+     * @param arguments      The arguments, described.
+     * @param resultSize     The number of items returned, or null.
+     * @param error          The class of exception thrown, or null.
+     * @return  The entry recorded.
+     */
+    public SlowOperation record(String operation, long durationNanos, List<String> arguments, Integer resultSize,
+            String error) {
+        long sequence = next.getAndIncrement();
+        Instant time = Instant.now().minusNanos(durationNanos);
+        SlowOperation entry = new SlowOperation(sequence, time, operation, Thread.currentThread().getName(),
+                TimeUnit.NANOSECONDS.toMicros(durationNanos), arguments, resultSize, error);
+        slots.set(slotOf(sequence), entry);
+        return entry;
+    }
+
+    /**
+     * @param limit  The maximum number of entries.
+     * @return  The latest entries recorded, newest first.
+     */
+    public List<SlowOperation> snapshot(int limit) {
+        long last = next.get() - 1;
+        long first = Math.max(0, last - Math.min(limit, slots.length()) + 1);
+        List<SlowOperation> entries = new ArrayList<>();
+        for (long sequence = last; sequence >= first; sequence -= 1) {
+            SlowOperation entry = slots.get(slotOf(sequence));
+            // null while a writer has claimed but not stored yet; newer when overwritten since
+            if (entry != null && entry.getSequence() == sequence) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return  The number of entries recorded since start, including those overwritten.
+     */
+    public long getRecorded() {
+        return next.get();
+    }
+
+    private int slotOf(long sequence) {
+        return (int) (sequence % slots.length());
+    }
+
+}
@@ -82,6 +82,20 @@ public class GameGuessOutput {
     @JsonProperty(value = "guessed_words")
     private List<String> guessedWords;
 
+    @Schema(
+            description = "The words not guessed yet that an incorrect `guess_word` is close to (\"did you mean\"), if any.",
+            example = "[\"rake\"]",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "suggestions")
+    private List<String> suggestions;
+
+    @Schema(
+            description = "The rows of letters of the grid, in grid mode; `original_word` and `scramble_word` then hold the same letters, row by row.",
+            example = "[\"tape\", \"oles\", \"rnid\", \"gaum\"]",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "grid")
+    private List<String> grid;
+
     public String getId() {
         return id;
     }
@@ -149,6 +163,22 @@ public class GameGuessOutput {
         this.guessedWords = guessedWords;
     }
 
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
+
+    public List<String> getGrid() {
+        return grid;
+    }
+
+    public void setGrid(List<String> grid) {
+        this.grid = grid;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -172,6 +202,12 @@ public class GameGuessOutput {
         if (guessedWords != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("guessedWords.size=[").append(guessedWords.size()).append(']');
         }
+        if (suggestions != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("suggestions=").append(suggestions);
+        }
+        if (grid != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("grid=").append(grid);
+        }
         return sb.toString();
     }
 
@@ -1,14 +1,17 @@
 package asia.fourtitude.interviewq.jumble.model;
 
 import javax.validation.constraints.NotBlank;
-import java.util.Collection;
+
+import asia.fourtitude.interviewq.jumble.core.Page;
 
 public class PrefixForm {
 
     @NotBlank
     private String prefix;
 
-    private Collection<String> words;
+    private Integer page;
+
+    private Page<String> words;
 
     public String getPrefix() {
         return prefix;
@@ -18,11 +21,19 @@ public class PrefixForm {
         this.prefix = prefix;
     }
 
-    public Collection<String> getWords() {
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Page<String> getWords() {
         return words;
     }
 
-    public void setWords(Collection<String> words) {
+    public void setWords(Page<String> words) {
         this.words = words;
     }
 
@@ -32,6 +43,9 @@ public class PrefixForm {
         if (prefix != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("prefix=[").append(prefix).append(']');
         }
+        if (page != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("page=[").append(page).append(']');
+        }
         if (words != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("words=[").append(words).append(']');
         }
@@ -1,7 +1,8 @@
 package asia.fourtitude.interviewq.jumble.model;
 
 import javax.validation.constraints.Size;
-import java.util.Collection;
+
+import asia.fourtitude.interviewq.jumble.core.Page;
 
 public class SearchForm {
 
@@ -13,7 +14,9 @@ public class SearchForm {
 
     private Integer length;
 
-    private Collection<String> words;
+    private Integer page;
+
+    private Page<String> words;
 
     public String getStartChar() {
         return startChar;
@@ -39,11 +42,19 @@ public class SearchForm {
         this.length = length;
     }
 
-    public Collection<String> getWords() {
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Page<String> getWords() {
         return words;
     }
 
-    public void setWords(Collection<String> words) {
+    public void setWords(Page<String> words) {
         this.words = words;
     }
 
@@ -59,6 +70,9 @@ public class SearchForm {
         if (length != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("length=[").append(length).append(']');
         }
+        if (page != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("page=[").append(page).append(']');
+        }
         if (words != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("words=[").append(words).append(']');
         }
@@ -1,7 +1,8 @@
 package asia.fourtitude.interviewq.jumble.model;
 
 import javax.validation.constraints.NotBlank;
-import java.util.Collection;
+
+import asia.fourtitude.interviewq.jumble.core.Page;
 
 public class SubWordsForm {
 
@@ -10,7 +11,9 @@ public class SubWordsForm {
 
     private Integer minLength;
 
-    private Collection<String> words;
+    private Integer page;
+
+    private Page<String> words;
 
     public String getWord() {
         return word;
@@ -28,11 +31,19 @@ public class SubWordsForm {
         this.minLength = minLength;
     }
 
-    public Collection<String> getWords() {
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Page<String> getWords() {
         return words;
     }
 
-    public void setWords(Collection<String> words) {
+    public void setWords(Page<String> words) {
         this.words = words;
     }
 
@@ -45,6 +56,9 @@ public class SubWordsForm {
         if (minLength != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("minLength=[").append(minLength).append(']');
         }
+        if (page != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("page=[").append(page).append(']');
+        }
         if (words != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("words=[").append(words).append(']');
         }
@@ -0,0 +1,55 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import javax.validation.constraints.NotBlank;
+
+import asia.fourtitude.interviewq.jumble.core.Page;
+
+public class WildcardForm {
+
+    @NotBlank
+    private String pattern;
+
+    private Integer page;
+
+    private Page<String> words;
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Page<String> getWords() {
+        return words;
+    }
+
+    public void setWords(Page<String> words) {
+        this.words = words;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (pattern != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("pattern=[").append(pattern).append(']');
+        }
+        if (page != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("page=[").append(page).append(']');
+        }
+        if (words != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("words=[").append(words).append(']');
+        }
+        return sb.toString();
+    }
+
+}
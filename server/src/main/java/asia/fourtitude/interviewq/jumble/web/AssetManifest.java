@@ -0,0 +1,79 @@
+package asia.fourtitude.interviewq.jumble.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+
+/**
+ * Content fingerprints of the static assets, computed at build time by
+ * {@link StaticAssetPrecompressor}, and used as the version strategy of the
+ * resource chain: "css/style.css" is linked as "css/style-{md5}.css".
+ *
+ * <p>Assets missing from the manifest (e.g. when running from an IDE without
+ * the build step) fall back to hashing their content on first use.
+ */
+public class AssetManifest extends ContentVersionStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AssetManifest.class);
+
+    static final String STATIC_ROOT = "static";
+
+    static final String MANIFEST = "asset-manifest.properties";
+
+    private final Properties hashes;
+
+    public AssetManifest() {
+        this.hashes = new Properties();
+        ClassPathResource manifest = new ClassPathResource(MANIFEST);
+        if (manifest.exists()) {
+            try (InputStream is = manifest.getInputStream()) {
+                hashes.load(is);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to load " + MANIFEST, e);
+            }
+        } else {
+            LOG.warn("{} not found, fingerprinting assets at runtime", MANIFEST);
+        }
+    }
+
+    /**
+     * @param path  The asset path, relative to static root, e.g. "css/style.css".
+     * @return  The build-time fingerprint, or null when not in manifest.
+     */
+    public String versionOf(String path) {
+        return hashes.getProperty(path);
+    }
+
+    /**
+     * @param path  The requested path, relative to static root.
+     * @return  true when `path` carries the current fingerprint of its asset.
+     */
+    public boolean isFingerprinted(String path) {
+        String version = extractVersion(path);
+        if (version == null || version.isEmpty()) {
+            return false;
+        }
+        return version.equals(versionOf(removeVersion(path, version)));
+    }
+
+    @Override
+    public String getResourceVersion(Resource resource) {
+        if (resource instanceof ClassPathResource) {
+            String path = ((ClassPathResource) resource).getPath();
+            if (path.startsWith(STATIC_ROOT + "/")) {
+                String version = versionOf(path.substring(STATIC_ROOT.length() + 1));
+                if (version != null) {
+                    return version;
+                }
+            }
+        }
+        return super.getResourceVersion(resource);
+    }
+
+}
@@ -0,0 +1,184 @@
+package asia.fourtitude.interviewq.jumble.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves fully static, server-rendered pages from memory.
+ *
+ * <p>The first GET of a configured path is rendered normally, and the
+ * resulting bytes are kept. Subsequent GETs are written straight from the
+ * byte buffer, skipping the controller and the template engine.
+ * Only successful (200) responses are kept, and only when they are the same
+ * for every visitor: not when the rendering created a session (whose id may
+ * be encoded in the links, see {@code server.servlet.session.tracking-modes}),
+ * nor when the response sets a cookie.
+ *
+ * <p>Along with the body, the headers the rendering set are kept and
+ * replayed, but for the ones describing a single response.
+ */
+public class RenderedPageCacheFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RenderedPageCacheFilter.class);
+
+    /*
+     * Headers not replayed: set per response, by the container or by this filter.
+     */
+    private static final Set<String> UNCACHED_HEADERS = caseInsensitive(Arrays.asList(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.DATE, HttpHeaders.SET_COOKIE));
+
+    private final Set<String> paths;
+
+    private final Map<String, RenderedPage> pages = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public RenderedPageCacheFilter(Collection<String> paths) {
+        this.paths = ConcurrentHashMap.newKeySet();
+        this.paths.addAll(paths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getQueryString() != null
+                || !paths.contains(pathOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = pathOf(request);
+        RenderedPage page = pages.get(path);
+        if (page != null) {
+            hits.increment();
+            for (Map.Entry<String, List<String>> header : page.headers.entrySet()) {
+                boolean first = true;
+                for (String value : header.getValue()) {
+                    if (first) {
+                        response.setHeader(header.getKey(), value);
+                        first = false;
+                    } else {
+                        response.addHeader(header.getKey(), value);
+                    }
+                }
+            }
+            response.setLocale(page.locale);
+            response.setContentType(page.contentType);
+            response.setContentLength(page.body.length);
+            response.getOutputStream().write(page.body);
+            return;
+        }
+
+        misses.increment();
+        // headers set before, e.g. by other filters, are theirs to set on every response
+        Set<String> presetHeaders = caseInsensitive(response.getHeaderNames());
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        if (isCacheable(request, wrapper)) {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : wrapper.getHeaderNames()) {
+                if (!presetHeaders.contains(name) && !UNCACHED_HEADERS.contains(name)) {
+                    headers.put(name, new ArrayList<>(wrapper.getHeaders(name)));
+                }
+            }
+            pages.putIfAbsent(path, new RenderedPage(wrapper.getContentType(), wrapper.getLocale(), headers,
+                    wrapper.getContentAsByteArray()));
+            LOG.debug("doFilterInternal: cached path=[{}] bytes=[{}]", path, wrapper.getContentSize());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /*
+     * Whether the response is fit for every visitor.
+     */
+    private static boolean isCacheable(HttpServletRequest request, HttpServletResponse response) {
+        if (response.getStatus() != HttpServletResponse.SC_OK || response.getContentType() == null) {
+            return false;
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null && session.isNew()) {
+            LOG.debug("isCacheable: not caching, session created by the request");
+            return false;
+        }
+        if (response.containsHeader(HttpHeaders.SET_COOKIE)) {
+            LOG.debug("isCacheable: not caching, cookie set by the response");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return  The snapshot of cache counters.
+     */
+    public Map<String, Object> getStats() {
+        long bytes = 0;
+        for (RenderedPage page : pages.values()) {
+            bytes += page.body.length;
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", pages.size());
+        stats.put("bytes", bytes);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        // pages are kept for the life of the application
+        stats.put("evictions", 0L);
+        return stats;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static Set<String> caseInsensitive(Collection<String> names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(names);
+        return set;
+    }
+
+    private static final class RenderedPage {
+
+        private final String contentType;
+
+        private final Locale locale;
+
+        private final Map<String, List<String>> headers;
+
+        private final byte[] body;
+
+        RenderedPage(String contentType, Locale locale, Map<String, List<String>> headers, byte[] body) {
+            this.contentType = contentType;
+            this.locale = locale;
+            this.headers = headers;
+            this.body = body;
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package asia.fourtitude.interviewq.jumble.web;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+/**
+ * Sets the cache headers of static assets: requests carrying the current
+ * content fingerprint are cached for a year as immutable, anything else must
+ * be revalidated (by "Last-Modified") on each use.
+ */
+public class StaticAssetCacheInterceptor implements HandlerInterceptor {
+
+    static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    static final String REVALIDATE = "no-cache";
+
+    private final AssetManifest manifest;
+
+    public StaticAssetCacheInterceptor(AssetManifest manifest) {
+        this.manifest = manifest;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof ResourceHttpRequestHandler) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            if (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, manifest.isFingerprinted(path) ? IMMUTABLE : REVALIDATE);
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,136 @@
+package asia.fourtitude.interviewq.jumble.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build-time step (see "pom.xml", phase "process-classes") which prepares the
+ * static assets for serving with long-lived cache headers:
+ * <ol>
+ * <li>fingerprints every asset by content hash, written to
+ *     {@value AssetManifest#MANIFEST}, and</li>
+ * <li>writes a gzip sibling ({@code *.gz}) next to every compressible asset,
+ *     served by the resource chain as-is, without compressing per request.</li>
+ * </ol>
+ *
+ * There is no pure-Java Brotli encoder available, so only gzip is produced.
+ * The resource chain will pick up {@code *.br} siblings if ever provided.
+ */
+public final class StaticAssetPrecompressor {
+
+    static final Set<String> COMPRESSIBLE = new HashSet<>(Arrays.asList(
+            "css", "js", "map", "scss", "svg", "html", "txt", "json", "xml", "eot", "ttf", "otf"));
+
+    /*
+     * Compressing tiny files gains nothing, the gzip header alone is ~20 bytes.
+     */
+    static final int MIN_SIZE = 1024;
+
+    private StaticAssetPrecompressor() {
+    }
+
+    /**
+     * @param args  [0] the build output directory (containing "static/").
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: StaticAssetPrecompressor <outputDirectory>");
+        }
+        Path outputDirectory = Paths.get(args[0]);
+        int[] counts = process(outputDirectory.resolve(AssetManifest.STATIC_ROOT), outputDirectory.resolve(AssetManifest.MANIFEST));
+        System.out.printf("Fingerprinted %d assets, precompressed %d%n", counts[0], counts[1]);
+    }
+
+    /**
+     * @param staticRoot    The directory of static assets.
+     * @param manifestFile  The manifest file to write.
+     * @return  Two elements, {number of assets fingerprinted, number compressed}.
+     */
+    static int[] process(Path staticRoot, Path manifestFile) throws IOException {
+        List<Path> assets;
+        try (Stream<Path> stream = Files.walk(staticRoot)) {
+            assets = stream.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().endsWith(".gz"))
+                    .filter(p -> !p.getFileName().toString().endsWith(".br"))
+                    .collect(Collectors.toList());
+        }
+        TreeMap<String, String> manifest = new TreeMap<>();
+        int compressed = 0;
+        for (Path asset : assets) {
+            byte[] content = Files.readAllBytes(asset);
+            String key = staticRoot.relativize(asset).toString().replace('\\', '/');
+            manifest.put(key, md5Hex(content));
+            if (content.length >= MIN_SIZE && COMPRESSIBLE.contains(extensionOf(key)) && gzip(asset, content)) {
+                compressed += 1;
+            }
+        }
+        List<String> lines = new ArrayList<>(manifest.size() + 1);
+        lines.add("# Generated by " + StaticAssetPrecompressor.class.getSimpleName() + ", path=md5");
+        manifest.forEach((key, hash) -> lines.add(key + "=" + hash));
+        try (Writer writer = Files.newBufferedWriter(manifestFile, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+        return new int[] { manifest.size(), compressed };
+    }
+
+    /*
+     * Writes "<asset>.gz" at best compression, unless it would not be smaller.
+     */
+    private static boolean gzip(Path asset, byte[] content) throws IOException {
+        Path target = asset.resolveSibling(asset.getFileName() + ".gz");
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 2);
+        try (OutputStream os = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            os.write(content);
+        }
+        if (buffer.size() >= content.length) {
+            Files.deleteIfExists(target);
+            return false;
+        }
+        Files.write(target, buffer.toByteArray());
+        return true;
+    }
+
+    static String md5Hex(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(content);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    private static String extensionOf(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? "" : path.substring(dot + 1).toLowerCase();
+    }
+
+}
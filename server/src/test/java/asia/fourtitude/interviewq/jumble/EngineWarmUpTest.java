@@ -0,0 +1,75 @@
+package asia.fourtitude.interviewq.jumble;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.metrics.EngineMetricsAspect;
+import asia.fourtitude.interviewq.jumble.metrics.SlowOperationLog;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+        "jumble.warmup.enabled=true",
+        "jumble.warmup.rounds=3",
+        // record every call
+        "jumble.slow-log.threshold-ms=0" })
+@AutoConfigureMockMvc
+class EngineWarmUpTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EngineWarmUp engineWarmUp;
+
+    @Autowired
+    private JumbleEngine jumbleEngine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SlowOperationLog slowOperationLog;
+
+    @Test
+    void whenStarted_thenWarmedUpAndReady() throws Exception {
+        assertEquals(3, engineWarmUp.getCompletedRounds());
+        // warm-up calls are not operations served
+        assertTrue(meterRegistry.find(EngineMetricsAspect.TIMER).timers().isEmpty(), "engine metrics");
+        assertEquals(0, slowOperationLog.getRecorded(), "slow operations");
+        this.mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void givenEngine_whenListOperations_thenEveryPublicMethodWarmedUp() {
+        Set<String> methods = new TreeSet<>();
+        for (Method method : JumbleEngine.class.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers())) {
+                methods.add(method.getName());
+            }
+        }
+        assertEquals(methods, new TreeSet<>(engineWarmUp.getOperations()));
+    }
+
+    @Test
+    void givenNoTime_whenRun_thenNoRound() {
+        EngineWarmUp warmUp = new EngineWarmUp(jumbleEngine, 1000, 0);
+        warmUp.run(null);
+        assertEquals(0, warmUp.getCompletedRounds());
+    }
+
+}
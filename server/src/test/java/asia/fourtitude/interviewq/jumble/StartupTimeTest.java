@@ -0,0 +1,73 @@
+package asia.fourtitude.interviewq.jumble;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+
+/**
+ * Boots the application as {@link JumbleApplication#main(String[])} does,
+ * on a random port, and reports how long it took (without the warm-up,
+ * see {@link EngineWarmUp}). Not a {@code SpringBootTest},
+ * which would start the context before the test could time it.
+ */
+class StartupTimeTest {
+
+    private static final long MAX_STARTUP_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    @Test
+    void whenStarted_thenConsoleBeansLazyAndDictionaryPreloaded() {
+        SpringApplication application = JumbleApplication.application();
+        // outside the test context framework, the scan would pick TestConfig up
+        application.addInitializers(context -> context.getBeanFactory()
+                .registerSingleton("testConfigurationExcludeFilter", new TestConfigurationExcludeFilter()));
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = application.run(
+                "--server.port=0", "--spring.profiles.active=prod", "--jumble.warmup.enabled=false")) {
+            long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            DictionaryPreloader preloader = context.getBean(DictionaryPreloader.class);
+            System.out.printf("startup: %d ms, dictionary loaded in %d ms (in parallel)%n",
+                    startupMillis, preloader.getLoadMillis());
+
+            assertTrue(startupMillis < MAX_STARTUP_MILLIS, "startup " + startupMillis + " ms");
+            assertTrue(preloader.getLoadMillis() >= 0, "dictionary loaded");
+            assertSame(preloader.get(), context.getBean(WordsRepository.class));
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+            assertFalse(beanFactory.containsSingleton("consoleApp"), "console not created");
+            assertFalse(beanFactory.containsSingleton("scanner"), "scanner not created");
+            assertFalse(beanFactory.containsSingleton("customOpenAPI"), "OpenAPI disabled in prod");
+        }
+    }
+
+    private static final class TestConfigurationExcludeFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory)
+                throws IOException {
+            return metadataReader.getAnnotationMetadata().hasAnnotation(TestConfiguration.class.getName());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TestConfigurationExcludeFilter;
+        }
+
+        @Override
+        public int hashCode() {
+            return TestConfigurationExcludeFilter.class.hashCode();
+        }
+
+    }
+
+}
@@ -1,10 +1,17 @@
 package asia.fourtitude.interviewq.jumble;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 
+import asia.fourtitude.interviewq.jumble.core.AsyncJumbleEngine;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @TestConfiguration
 public class TestConfig {
@@ -14,4 +21,20 @@ public class TestConfig {
         return new JumbleEngine(new WordsRepository());
     }
 
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService engineExecutor() {
+        return Executors.newFixedThreadPool(2);
+    }
+
+    @Bean
+    public AsyncJumbleEngine asyncJumbleEngine(JumbleEngine jumbleEngine,
+            @Qualifier("engineExecutor") ExecutorService engineExecutor) {
+        return new AsyncJumbleEngine(jumbleEngine, engineExecutor, 2000);
+    }
+
+    @Bean
+    public GameMetrics gameMetrics() {
+        return new GameMetrics(new SimpleMeterRegistry());
+    }
+
 }
@@ -0,0 +1,44 @@
+package asia.fourtitude.interviewq.jumble.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlTest {
+
+    @Test
+    void givenBurstExhausted_whenAdmit_thenRejectedRate() {
+        AdmissionControl control = new AdmissionControl(true, new TokenBucketLimiter(16, 0.001, 3), 10);
+        for (int ix = 0; ix < 3; ix += 1) {
+            assertEquals(AdmissionControl.Decision.ADMITTED, control.tryAdmit("10.0.0.1"), "burst#" + ix);
+            control.release();
+        }
+        assertEquals(AdmissionControl.Decision.REJECTED_RATE, control.tryAdmit("10.0.0.1"), "exhausted");
+        assertEquals(1L, control.getStats().get("rejected_rate"), "rejected_rate");
+        assertEquals(3L, control.getStats().get("admitted"), "admitted");
+    }
+
+    @Test
+    void givenConcurrencyExhausted_whenAdmit_thenRejectedConcurrency() {
+        AdmissionControl control = new AdmissionControl(true, new TokenBucketLimiter(16, 1000, 100), 2);
+        assertEquals(AdmissionControl.Decision.ADMITTED, control.tryAdmit("a"), "first");
+        assertEquals(AdmissionControl.Decision.ADMITTED, control.tryAdmit("b"), "second");
+        assertEquals(AdmissionControl.Decision.REJECTED_CONCURRENCY, control.tryAdmit("c"), "third");
+        control.release();
+        assertEquals(AdmissionControl.Decision.ADMITTED, control.tryAdmit("c"), "after release");
+        assertEquals(1L, control.getStats().get("rejected_concurrency"), "rejected_concurrency");
+    }
+
+    @Test
+    void givenConcurrencyExhausted_whenAdmit_thenTokenNotTaken() {
+        AdmissionControl control = new AdmissionControl(true, new TokenBucketLimiter(16, 0.001, 1), 1);
+        assertEquals(AdmissionControl.Decision.ADMITTED, control.tryAdmit("a"), "first");
+        for (int ix = 0; ix < 3; ix += 1) {
+            assertEquals(AdmissionControl.Decision.REJECTED_CONCURRENCY, control.tryAdmit("b"), "busy#" + ix);
+        }
+        control.release();
+        // "b" still has its only token
+        assertEquals(AdmissionControl.Decision.ADMITTED, control.tryAdmit("b"), "after release");
+    }
+
+}
@@ -0,0 +1,75 @@
+package asia.fourtitude.interviewq.jumble.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdmissionInterceptorTest {
+
+    private static MockHttpServletRequest request(String method, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/game/new");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    @Test
+    void givenConcurrencyExhausted_whenPreHandle_thenTooManyRequestsUntilCompleted() throws Exception {
+        AdmissionControl control = new AdmissionControl(true, new TokenBucketLimiter(16, 1000, 100), 1);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(control, false);
+
+        MockHttpServletRequest first = request("GET", "10.0.0.1");
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(first, firstResponse, null), "first admitted");
+        assertEquals(1, control.getStats().get("in_flight"), "in_flight");
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("GET", "10.0.0.2"), rejected, null), "second rejected");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        interceptor.afterCompletion(first, firstResponse, null, null);
+        assertEquals(0, control.getStats().get("in_flight"), "released");
+        // released once only
+        interceptor.afterCompletion(first, firstResponse, null, null);
+        assertEquals(0, control.getStats().get("in_flight"), "released once");
+
+        assertTrue(interceptor.preHandle(request("GET", "10.0.0.2"), new MockHttpServletResponse(), null),
+                "admitted after release");
+    }
+
+    @Test
+    void givenRateExhausted_whenPreHandle_thenTooManyRequests() throws Exception {
+        AdmissionControl control = new AdmissionControl(true, new TokenBucketLimiter(16, 0.001, 1), 10);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(control, false);
+
+        MockHttpServletRequest first = request("GET", "10.0.0.1");
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), null), "first admitted");
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), null, null);
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("GET", "10.0.0.1"), rejected, null), "second rejected");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(0, control.getStats().get("in_flight"), "no slot held");
+    }
+
+    @Test
+    void givenMethods_whenPreHandleOtherMethod_thenNotSubjectToAdmission() throws Exception {
+        AdmissionControl control = new AdmissionControl(true, new TokenBucketLimiter(16, 0.001, 1), 1);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(control, false, "POST");
+
+        for (int ix = 0; ix < 3; ix += 1) {
+            MockHttpServletRequest get = request("GET", "10.0.0.1");
+            assertTrue(interceptor.preHandle(get, new MockHttpServletResponse(), null), "GET#" + ix);
+            interceptor.afterCompletion(get, new MockHttpServletResponse(), null, null);
+        }
+        assertEquals(0L, control.getStats().get("admitted"), "admitted");
+
+        assertTrue(interceptor.preHandle(request("POST", "10.0.0.1"), new MockHttpServletResponse(), null), "POST");
+        assertEquals(1L, control.getStats().get("admitted"), "admitted");
+    }
+
+}
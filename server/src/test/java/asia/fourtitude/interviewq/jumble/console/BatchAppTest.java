@@ -0,0 +1,119 @@
+package asia.fourtitude.interviewq.jumble.console;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+
+/**
+ * Runs the batch mode as {@link BatchApp#main(String[])} does: on an engine
+ * of its own, without Spring.
+ */
+class BatchAppTest {
+
+    private static JumbleEngine engine;
+
+    @BeforeAll
+    static void setUp() {
+        engine = new JumbleEngine(new WordsRepository());
+    }
+
+    private static String run(BatchApp app, String input) throws IOException {
+        StringWriter out = new StringWriter();
+        app.run(new BufferedReader(new StringReader(input)), out);
+        return out.toString();
+    }
+
+    private static String run(int threads, String input) throws IOException {
+        return run(new BatchApp(engine, threads), input);
+    }
+
+    @Test
+    void givenOperations_whenRun_thenResultPerOperation() throws IOException {
+        String input = String.join("\n",
+                "# comment",
+                "exists  elephant",
+                "exists elephantq",
+                "",
+                "anagram least",
+                "prefix jumb",
+                "subwords ranker 5",
+                "fuzzy jumbel",
+                "ladder cold warm",
+                "search r r 6",
+                "wildcard ?umbl?",
+                "bogus word",
+                "prefix",
+                "subwords ranker x");
+        String[] lines = run(2, input).split("\n");
+
+        assertEquals(12, lines.length);
+        assertEquals("exists  elephant\ttrue", lines[0]);
+        assertEquals("exists elephantq\tfalse", lines[1]);
+        assertEquals("anagram least\t" + String.join(" ", engine.anagramsOf("least")), lines[2]);
+        assertEquals("prefix jumb\t" + String.join(" ", engine.wordsMatchingPrefix("jumb")), lines[3]);
+        assertEquals("subwords ranker 5\t" + String.join(" ", engine.generateSubWords("ranker", 5)), lines[4]);
+        assertTrue(lines[5].startsWith("fuzzy jumbel\tjumble:1"), lines[5]);
+        assertEquals("ladder cold warm\t" + String.join(" ", engine.wordLadder("cold", "warm")), lines[6]);
+        assertEquals("search r r 6\t" + String.join(" ", engine.searchWords('r', 'r', 6)), lines[7]);
+        assertTrue(lines[8].contains("jumble"), lines[8]);
+        assertEquals("bogus word\terror: Unknown operation=[bogus]", lines[9]);
+        assertTrue(lines[10].startsWith("prefix\terror: Missing argument"), lines[10]);
+        assertTrue(lines[11].startsWith("subwords ranker x\terror: "), lines[11]);
+    }
+
+    @Test
+    void givenManyChunks_whenRunInParallel_thenOutputInInputOrder() throws IOException {
+        // more chunks than the threads may have in flight
+        int count = BatchApp.CHUNK_LINES * 20 + 7;
+        StringBuilder input = new StringBuilder();
+        for (int ix = 0; ix < count; ix += 1) {
+            // alternating slow and fast operations
+            input.append(ix % 2 == 0 ? "subwords ranker" : "exists word" + ix).append('\n');
+        }
+        String[] lines = run(4, input.toString()).split("\n");
+
+        assertEquals(count, lines.length);
+        for (int ix = 0; ix < count; ix += 1) {
+            String expected = ix % 2 == 0 ? "subwords ranker\t" : "exists word" + ix + "\tfalse";
+            assertTrue(lines[ix].startsWith(expected), "line " + ix + ": " + lines[ix]);
+        }
+    }
+
+    @Test
+    void givenFailingOperation_whenRun_thenErrorLineAndRunContinues() throws IOException {
+        BatchApp app = new BatchApp(engine, 2) {
+            @Override
+            String execute(String[] fields) {
+                if ("fail".equals(fields[0])) {
+                    throw new IllegalStateException("engine failure");
+                }
+                if ("npe".equals(fields[0])) {
+                    throw new NullPointerException();
+                }
+                return super.execute(fields);
+            }
+        };
+        String[] lines = run(app, "exists cat\nfail now\nnpe\nexists dog\n").split("\n");
+
+        assertEquals(4, lines.length);
+        assertEquals("exists cat\ttrue", lines[0]);
+        assertEquals("fail now\terror: engine failure", lines[1]);
+        assertEquals("npe\terror: java.lang.NullPointerException", lines[2]);
+        assertEquals("exists dog\ttrue", lines[3]);
+    }
+
+    @Test
+    void givenInvalidThreads_whenCreate_thenException() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchApp(engine, 0));
+    }
+
+}
@@ -0,0 +1,35 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenGetFootprint_thenDictionaryGamesAndHeapReported() throws Exception {
+        this.mockMvc.perform(get("/api/game/new"))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/admin/footprint"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dictionary.words").value(64662))
+                .andExpect(jsonPath("$.dictionary.version").isString())
+                .andExpect(jsonPath("$.dictionary.total_bytes", greaterThan(1_000_000)))
+                .andExpect(jsonPath("$.dictionary.structures[*].name", hasItems("words", "trie", "anagram", "ladder")))
+                .andExpect(jsonPath("$.dictionary.caches.ladder.evictions").value(0))
+                .andExpect(jsonPath("$.games.live", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.heap.max_bytes", greaterThan(0)));
+    }
+
+}
@@ -5,10 +5,14 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -16,9 +20,12 @@ import org.springframework.test.web.servlet.MvcResult;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.core.AsyncJumbleEngine;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
 import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
 import asia.fourtitude.interviewq.jumble.model.GameGuessOutput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @WebMvcTest(GameApiController.class)
 @Import(TestConfig.class)
@@ -88,6 +95,39 @@ class GameApiControllerTest {
         assertTrue(output.getGuessedWords().isEmpty());
     }
 
+    @Test
+    void whenCreateNewGridGame_thenGridKeptBetweenPlays() throws Exception {
+        MvcResult result = this.mvc.perform(get("/api/game/grid/new?size=5&targetWords=40")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+        GameGuessOutput newGame = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+        assertEquals("Created new game.", newGame.getResult());
+        assertEquals(5, newGame.getGrid().size());
+        assertEquals(newGame.getOriginalWord(), String.join("", newGame.getGrid()));
+        assertEquals(newGame.getTotalWords(), newGame.getRemainingWords());
+
+        String correctWord = jumbleEngine.solveGrid(newGame.getOriginalWord(), 5, 3).get(0);
+        GameGuessInput input = new GameGuessInput();
+        input.setId(newGame.getId());
+        input.setWord(correctWord);
+        result = this.mvc.perform(post("/api/game/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(OM.writeValueAsString(input)))
+                .andExpect(status().isOk())
+                .andReturn();
+        GameGuessOutput output = OM.readValue(result.getResponse().getContentAsString(), GameGuessOutput.class);
+        assertEquals(newGame.getTotalWords() - 1, output.getRemainingWords());
+        assertEquals(newGame.getScrambleWord(), output.getScrambleWord(), "not rescrambled");
+        assertEquals(newGame.getGrid(), output.getGrid());
+
+        this.mvc.perform(get("/api/game/grid/new?size=9")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void givenMissingId_whenPlayGame_thenInvalidId() throws Exception {
         /*
@@ -436,4 +476,16 @@ class GameApiControllerTest {
         assertTrue(output.getGuessedWords().contains(lastWord));
     }
 
+    @Test
+    void givenSaturatedEngineExecutor_whenCreateNewGames_thenServiceUnavailable() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // rejects every task, as a saturated executor does
+        executor.shutdown();
+        GameApiController controller = new GameApiController(jumbleEngine,
+                new AsyncJumbleEngine(jumbleEngine, executor, 100), new GameMetrics(new SimpleMeterRegistry()));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, controller.newGame().getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, controller.newGridGame(5, 80, 3).getStatusCode());
+    }
+
 }
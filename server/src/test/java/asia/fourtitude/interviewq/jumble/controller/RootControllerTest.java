@@ -1,16 +1,30 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.InternalResourceViewResolver;
+import org.springframework.web.util.NestedServletException;
+
+import asia.fourtitude.interviewq.jumble.core.AsyncJumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -19,6 +33,21 @@ class RootControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JumbleEngine jumbleEngine;
+
+    /*
+     * MockMvc over a RootController of its own, running the heavy operations
+     * of `engine` on `executor`; the views are not rendered.
+     */
+    private static MockMvc mockMvcOn(JumbleEngine engine, ExecutorService executor, long deadlineMillis) {
+        RootController controller = new RootController(engine,
+                new AsyncJumbleEngine(engine, executor, deadlineMillis), 100);
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setViewResolvers(new InternalResourceViewResolver("/templates/", ".html"))
+                .build();
+    }
+
     @Test
     void whenVisitHomePage_thenExpectTimeNow() throws Exception {
         this.mockMvc.perform(get("/"))
@@ -171,6 +200,17 @@ class RootControllerTest {
                 .andExpect(content().string(containsString(result)));
     }
 
+    @Test
+    void givenPattern_whenExecWildcard_thenSuccess() throws Exception {
+        this.mockMvc.perform(post("/wildcard")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", "Ball??"))
+                .andExpect(view().name("wildcard"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<p>The number of words: <span>5</span></p>")))
+                .andExpect(content().string(containsString("<span>ballsy</span>")));
+    }
+
     @Test
     void givenStartChar_whenExecSearch_thenSuccess() throws Exception {
         this.mockMvc.perform(post("/search")
@@ -375,4 +415,101 @@ class RootControllerTest {
                 .andExpect(content().string(containsString("<span id=\"iptWordFeedback\" class=\"col-sm-4 text-danger is-invalid\">")));
     }
 
+    @Test
+    void givenPage_whenExecPrefix_thenSliceWithTotal() throws Exception {
+        this.mockMvc.perform(post("/prefix")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("prefix", "p")
+                        .param("page", "2"))
+                .andExpect(view().name("prefix"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<p>The number of words: <span>5234</span></p>")))
+                .andExpect(content().string(containsString("<ol start=\"101\">")))
+                .andExpect(content().string(containsString("Page <span>2</span> of <span>53</span>")));
+    }
+
+    @Test
+    void whenVisitHomePage_thenStaticAssetsFingerprinted() throws Exception {
+        String html = this.mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Matcher matcher = Pattern.compile("/css/style-([0-9a-f]{32})\\.css").matcher(html);
+        assertTrue(matcher.find(), "fingerprinted style.css");
+
+        this.mockMvc.perform(get(matcher.group())
+                        .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"));
+
+        this.mockMvc.perform(get("/css/style.css"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    void givenSaturatedEngineExecutor_whenExecSubWordsAndSearch_thenServiceUnavailable() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // rejects every task, as a saturated executor does
+        executor.shutdown();
+        MockMvc mvc = mockMvcOn(jumbleEngine, executor, 2000);
+
+        mvc.perform(post("/subWords")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("word", "tomato"))
+                .andExpect(view().name("subWords"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(model().attribute("message", RootController.MSG_BUSY));
+        mvc.perform(post("/search")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("startChar", "a"))
+                .andExpect(view().name("search"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(model().attribute("message", RootController.MSG_BUSY));
+    }
+
+    @Test
+    void givenExpiredDeadline_whenExecSubWordsAndSearch_thenPartialResult() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the scans stop at their first deadline check
+            MockMvc mvc = mockMvcOn(jumbleEngine, executor, 0);
+
+            mvc.perform(post("/subWords")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param("word", "tomato"))
+                    .andExpect(view().name("subWords"))
+                    .andExpect(status().isOk())
+                    .andExpect(model().attribute("message", RootController.MSG_PARTIAL))
+                    .andExpect(model().attribute("form", hasProperty("words", notNullValue())));
+            mvc.perform(post("/search")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param("startChar", "a"))
+                    .andExpect(view().name("search"))
+                    .andExpect(status().isOk())
+                    .andExpect(model().attribute("message", RootController.MSG_PARTIAL))
+                    .andExpect(model().attribute("form", hasProperty("words", notNullValue())));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void givenFailingEngine_whenExecSubWords_thenFailureRethrown() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // every operation fails with NullPointerException
+            MockMvc mvc = mockMvcOn(null, executor, 2000);
+
+            NestedServletException e = assertThrows(NestedServletException.class,
+                    () -> mvc.perform(post("/subWords")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param("word", "tomato")));
+            assertInstanceOf(NullPointerException.class, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
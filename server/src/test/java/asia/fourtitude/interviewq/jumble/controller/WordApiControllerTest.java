@@ -0,0 +1,41 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import asia.fourtitude.interviewq.jumble.TestConfig;
+
+@WebMvcTest(WordApiController.class)
+@Import(TestConfig.class)
+class WordApiControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void givenLimit_whenAutoComplete_thenMostCommonCompletions() throws Exception {
+        this.mvc.perform(get("/api/word/awe").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+        this.mvc.perform(get("/api/word/awe").param("limit", String.valueOf(WordApiController.MAX_PAGE_LIMIT)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void givenLimitOutOfRange_whenAutoComplete_thenBadRequest() throws Exception {
+        this.mvc.perform(get("/api/word/awe").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        this.mvc.perform(get("/api/word/awe").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+        this.mvc.perform(get("/api/word/awe").param("limit", String.valueOf(WordApiController.MAX_PAGE_LIMIT + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+}
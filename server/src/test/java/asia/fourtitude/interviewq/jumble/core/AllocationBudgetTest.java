@@ -0,0 +1,76 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
+
+/**
+ * Fails when an engine operation or game action allocates more per call
+ * than its budget in {@link AllocationBudgets}. The bytes are those
+ * allocated by the calling thread, from
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)},
+ * averaged over many calls after a warm-up.
+ */
+class AllocationBudgetTest {
+
+    private static final int WARMUP_CALLS = 1000;
+
+    private static final int MEASURED_CALLS = 100;
+
+    private static JumbleEngine engine;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeAll
+    static void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "per thread allocation not available");
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per thread allocation not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        engine = new JumbleEngine(new WordsRepository());
+    }
+
+    @Test
+    void whenEngineOperations_thenWithinBudget() {
+        assertWithinBudget("scramble", () -> engine.scramble("ranker"));
+        assertWithinBudget("exists", () -> engine.exists("ranker"));
+        assertWithinBudget("pickOneRandomWord", () -> engine.pickOneRandomWord(6));
+        assertWithinBudget("wordsMatchingPrefix", () -> engine.wordsMatchingPrefix("jum"));
+        assertWithinBudget("searchWords", () -> engine.searchWords('r', 'r', 6));
+        assertWithinBudget("generateSubWords", () -> engine.generateSubWords("ranker", 3));
+        assertWithinBudget("retrievePalindromeWords", () -> engine.retrievePalindromeWords());
+        assertWithinBudget("anagramsOf", () -> engine.anagramsOf("least"));
+    }
+
+    @Test
+    void whenGameActions_thenWithinBudget() {
+        assertWithinBudget("createGameState", () -> engine.createGameState(6, 3));
+        GameState gameState = engine.createGameState(6, 3);
+        String subWord = gameState.getSubWords().keySet().iterator().next();
+        assertWithinBudget("updateGuessWord", () -> gameState.updateGuessWord(subWord));
+        assertWithinBudget("getGuessedWords", () -> gameState.getGuessedWords());
+        assertWithinBudget("suggestGuesses", () -> engine.suggestGuesses(gameState, "rnak"));
+    }
+
+    private static void assertWithinBudget(String operation, Runnable call) {
+        long budget = AllocationBudgets.of(operation);
+        for (int ix = 0; ix < WARMUP_CALLS; ix += 1) {
+            call.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int ix = 0; ix < MEASURED_CALLS; ix += 1) {
+            call.run();
+        }
+        long perCall = (threads.getThreadAllocatedBytes(threadId) - before) / MEASURED_CALLS;
+        assertTrue(perCall <= budget, operation + " allocated " + perCall + " bytes per call, budget " + budget);
+    }
+
+}
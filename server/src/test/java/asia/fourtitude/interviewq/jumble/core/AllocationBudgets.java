@@ -0,0 +1,44 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The allocation budgets, in bytes per call, of the engine operations and
+ * game actions checked by {@link AllocationBudgetTest}, for the inputs used
+ * there. A budget is a few times the measured allocation, leaving room for
+ * JIT differences; raise one only with a reason.
+ */
+final class AllocationBudgets {
+
+    static final Map<String, Long> BYTES_PER_CALL = new LinkedHashMap<>();
+
+    static {
+        // JumbleEngine
+        BYTES_PER_CALL.put("scramble", 512L);
+        BYTES_PER_CALL.put("exists", 128L);
+        BYTES_PER_CALL.put("pickOneRandomWord", 128L);
+        BYTES_PER_CALL.put("wordsMatchingPrefix", 1_024L);
+        BYTES_PER_CALL.put("searchWords", 1_024L);
+        BYTES_PER_CALL.put("generateSubWords", 2_048L);
+        BYTES_PER_CALL.put("retrievePalindromeWords", 1_024L);
+        BYTES_PER_CALL.put("anagramsOf", 1_024L);
+        BYTES_PER_CALL.put("suggestGuesses", 4_096L);
+        // game actions
+        BYTES_PER_CALL.put("createGameState", 8_192L);
+        BYTES_PER_CALL.put("updateGuessWord", 256L);
+        BYTES_PER_CALL.put("getGuessedWords", 1_024L);
+    }
+
+    private AllocationBudgets() {
+    }
+
+    static long of(String operation) {
+        Long budget = BYTES_PER_CALL.get(operation);
+        if (budget == null) {
+            throw new IllegalArgumentException("No allocation budget for operation=[" + operation + "]");
+        }
+        return budget;
+    }
+
+}
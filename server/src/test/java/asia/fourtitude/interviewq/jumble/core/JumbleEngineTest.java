@@ -2,7 +2,18 @@ package asia.fourtitude.interviewq.jumble.core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +21,8 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import asia.fourtitude.interviewq.jumble.JumbleApplication;
+import asia.fourtitude.interviewq.jumble.core.words.AnagramIndex;
+import asia.fourtitude.interviewq.jumble.core.words.WordsRepository;
 
 @SpringBootTest(classes = JumbleApplication.class, webEnvironment = SpringBootTest.WebEnvironment.MOCK)
 @EnableAutoConfiguration(exclude = { org.springdoc.core.SpringDocConfiguration.class })
@@ -202,4 +215,408 @@ class JumbleEngineTest {
         assertThrows(IllegalArgumentException.class, () -> { engine.createGameState(4, 5); }, "length=4;minLength=5");
     }
 
+    @Test
+    void givenUnboundedDeadline_whenSearchAndSubWords_thenComplete() {
+        PartialResult<Collection<String>> search = engine.searchWords(null, null, 5, Deadline.none());
+        assertTrue(search.isComplete(), "searchWords.complete");
+        assertEquals(4680, search.getValue().size(), "searchWords.size");
+
+        PartialResult<Collection<String>> subWords = engine.generateSubWords("fusion", 3, Deadline.none());
+        assertTrue(subWords.isComplete(), "generateSubWords.complete");
+        assertEquals(16, subWords.getValue().size(), "generateSubWords.size");
+    }
+
+    @Test
+    void givenExpiredDeadline_whenSearchAndSubWords_thenPartial() {
+        Deadline expired = Deadline.after(0, TimeUnit.MILLISECONDS);
+        assertFalse(engine.searchWords(null, null, 5, expired).isComplete(), "searchWords.complete");
+        assertFalse(engine.generateSubWords("fusion", 3, expired).isComplete(), "generateSubWords.complete");
+
+        Deadline cancelled = Deadline.none();
+        cancelled.cancel();
+        assertTrue(cancelled.isExpired(), "cancelled.isExpired");
+        assertFalse(engine.searchWords('a', null, null, cancelled).isComplete(), "searchWords.cancelled");
+    }
+
+    @Test
+    void givenOffsetLimit_whenPaging_thenSliceOfFullResult() {
+        List<String> all = new ArrayList<>(engine.wordsMatchingPrefix("pe"));
+        Page<String> page = engine.wordsMatchingPrefix("pe", 100, 50);
+        assertEquals(714, page.getTotal(), "prefix.total");
+        assertEquals(all.subList(100, 150), page.getItems(), "prefix.items");
+        assertEquals(3, page.getNumber(), "prefix.number");
+        assertEquals(15, page.getTotalPages(), "prefix.totalPages");
+        assertEquals(0, engine.wordsMatchingPrefix("pe", 800, 50).getItems().size(), "prefix.beyond");
+
+        all = new ArrayList<>(engine.searchWords('h', null, 7));
+        Page<String> search = engine.searchWords('H', null, 7, 370, 100, Deadline.none()).getValue();
+        assertEquals(377, search.getTotal(), "search.total");
+        assertEquals(all.subList(370, 377), search.getItems(), "search.items");
+        assertFalse(search.hasNext(), "search.hasNext");
+        assertEquals(0, engine.searchWords('m', 'n', 19, 0, 10, Deadline.none()).getValue().getTotal(), "search.empty");
+
+        Page<String> palindromes = engine.retrievePalindromeWords(60, 10);
+        assertEquals(61, palindromes.getTotal(), "palindrome.total");
+        assertEquals(1, palindromes.getItems().size(), "palindrome.items");
+    }
+
+    @Test
+    void givenWeightedDictionary_whenTopWordsMatchingPrefix_thenHeaviestFirst() {
+        JumbleEngine weighted = new JumbleEngine(new WordsRepository(new StringReader(
+                "the 500\nthere 120\nthey 300\ntheir\nthem\t90\ntheory 5\ntheme\nthere 80\nthe\n")));
+        assertEquals(Arrays.asList("the", "they", "there"), weighted.topWordsMatchingPrefix("the", 3));
+        assertEquals(Arrays.asList("they"), weighted.topWordsMatchingPrefix("THEy", 10), "case insensitive");
+        assertEquals(7, weighted.topWordsMatchingPrefix("th", 100).size(), "duplicates merged");
+        assertEquals(Arrays.asList("their", "theme"), weighted.topWordsMatchingPrefix("the", 7).subList(5, 7), "ties alphabetical");
+        assertTrue(weighted.topWordsMatchingPrefix("x", 3).isEmpty());
+        assertTrue(weighted.topWordsMatchingPrefix("the", 0).isEmpty());
+
+        JumbleEngine lightPrefix = new JumbleEngine(new WordsRepository(new StringReader(
+                "the 1\nthey 300\nthere 120\ntheme 200\n")));
+        assertEquals(Arrays.asList("they", "theme", "there", "the"), lightPrefix.topWordsMatchingPrefix("the", 4),
+                "lightest prefix word last");
+        assertEquals(Arrays.asList("they", "theme"), lightPrefix.topWordsMatchingPrefix("the", 2), "lightPrefix.top2");
+
+        List<String> all = new ArrayList<>(engine.wordsMatchingPrefix("awe"));
+        assertEquals(all.subList(0, 5), engine.topWordsMatchingPrefix("awe", 5), "unweighted.dictionaryOrder");
+    }
+
+    @Test
+    void givenMisspeltWord_whenFuzzyMatch_thenNearestWithinDistance() {
+        Map<String, Integer> matches = engine.fuzzyMatch("Recieve", 1);
+        assertEquals(Integer.valueOf(1), matches.get("receive"), "transposition");
+        assertEquals(Integer.valueOf(0), engine.fuzzyMatch("hello", 1).get("hello"), "exact");
+        assertTrue(engine.fuzzyMatch("hello", 1).containsKey("hell"), "deletion");
+        assertTrue(engine.fuzzyMatch("hello", 1).containsKey("cello"), "substitution");
+        assertFalse(engine.fuzzyMatch("hello", 1).containsKey("help"), "distance 2");
+
+        List<Integer> distances = new ArrayList<>(engine.fuzzyMatch("ranker", 2).values());
+        for (int ix = 1; ix < distances.size(); ix += 1) {
+            assertTrue(distances.get(ix - 1) <= distances.get(ix), "nearest first");
+        }
+        assertTrue(engine.fuzzyMatch("ab1", 1).isEmpty(), "non letter");
+        assertTrue(engine.fuzzyMatch("hello", JumbleEngine.MAX_FUZZY_DISTANCE + 1).isEmpty(), "distance too large");
+
+        Map<String, Boolean> subWords = new HashMap<>();
+        subWords.put("rank", Boolean.FALSE);
+        subWords.put("rake", Boolean.TRUE);
+        subWords.put("ark", Boolean.FALSE);
+        GameState gameState = new GameState("ranker", "rnraek", subWords);
+        assertEquals(Arrays.asList("rank"), engine.suggestGuesses(gameState, "rakn"), "not guessed yet");
+        assertTrue(engine.suggestGuesses(gameState, "rakr").isEmpty(), "already guessed");
+        assertEquals(Arrays.asList("ark", "rank"), engine.suggestGuesses(gameState, " RAK "), "nearest, then alphabetical");
+        assertTrue(engine.suggestGuesses(gameState, "rankerrr").isEmpty(), "longer than any sub-word");
+    }
+
+    @Test
+    void givenPatterns_whenWildcardSearch_thenSameAsRegexScan() {
+        String[] patterns = { "c?t*", "??ll?", "*ight", "a*b*c", "**z*q**", "x?", "q", "?", "*", "ab?1", "" };
+        List<String> all = new ArrayList<>(engine.wordsMatchingPrefix("a"));
+        for (char c = 'b'; c <= 'z'; c += 1) {
+            all.addAll(engine.wordsMatchingPrefix(String.valueOf(c)));
+        }
+        for (String pattern : patterns) {
+            Pattern regex = Pattern.compile(
+                    pattern.replace("?", "[a-z]").replace("*", "[a-z]*"));
+            List<String> expected = new ArrayList<>();
+            if (!pattern.isEmpty() && pattern.matches("[a-z?*]+")) {
+                for (String word : all) {
+                    if (regex.matcher(word).matches()) {
+                        expected.add(word);
+                    }
+                }
+            }
+            Page<String> page = engine.wildcardSearch(pattern.toUpperCase(), 0, all.size());
+            assertEquals(expected, page.getItems(), pattern);
+            assertEquals(expected.size(), page.getTotal(), pattern);
+        }
+        Page<String> page = engine.wildcardSearch("c?t*", 10, 5);
+        assertEquals(5, page.getItems().size(), "page.items");
+        assertEquals(engine.wildcardSearch("c?t*", 0, 100).getItems().subList(10, 15), page.getItems(), "page.slice");
+    }
+
+    @Test
+    void givenConstraints_whenConstraintSearch_thenBitmapMatchesScan() {
+        Page<String> page = engine.constraintSearch("?A??o?e?", "t", "Z", 0, 100);
+        assertEquals(16, page.getTotal(), "total");
+        assertEquals(Arrays.asList("balloted", "cathodes", "factored"), page.getItems().subList(0, 3), "items");
+        for (String word : page.getItems()) {
+            assertTrue(word.length() == 8 && word.charAt(1) == 'a' && word.charAt(4) == 'o' && word.charAt(6) == 'e'
+                    && word.indexOf('t') >= 0 && word.indexOf('z') < 0, word);
+        }
+        assertEquals(page.getItems().subList(5, 10), engine.constraintSearch("?a??o?e?", "t", "z", 5, 5).getItems(), "slice");
+        assertEquals(0, engine.constraintSearch("?a??o?e?", "t", "t", 0, 10).getTotal(), "include and exclude");
+        assertEquals(0, engine.constraintSearch("?a?", "1", null, 0, 10).getTotal(), "non letter");
+
+        // more than 64 words per length, offsets across bitmap words
+        List<String> all = engine.wildcardSearch("?????", 0, 100000).getItems();
+        assertEquals(all.size(), engine.constraintSearch("?????", null, null, 0, 10).getTotal(), "unconstrained");
+        assertEquals(all.subList(130, 140), engine.constraintSearch("?????", null, "", 130, 10).getItems(), "unconstrained.slice");
+    }
+
+    @Test
+    void givenSuffix_whenWordsMatchingSuffix_thenRhymeOrderPaged() {
+        Page<String> page = engine.wordsMatchingSuffix("IGHT", 0, 1000);
+        assertEquals(100, page.getTotal(), "total");
+        assertEquals(Arrays.asList("straight", "bight", "eight"), page.getItems().subList(0, 3), "rhyme order");
+        for (int ix = 1; ix < page.getItems().size(); ix += 1) {
+            String prev = new StringBuilder(page.getItems().get(ix - 1)).reverse().toString();
+            String curr = new StringBuilder(page.getItems().get(ix)).reverse().toString();
+            assertTrue(prev.compareTo(curr) < 0, curr);
+        }
+        assertEquals(page.getItems().subList(40, 50), engine.wordsMatchingSuffix("ight", 40, 10).getItems(), "slice");
+        assertEquals(0, engine.wordsMatchingSuffix("qqqq", 0, 10).getTotal(), "none");
+        assertEquals(0, engine.wordsMatchingSuffix("ig-ht", 0, 10).getTotal(), "non letter");
+
+        // walks the suffix range ("fl" and "s" are wider than "ight"), or the prefix range ("fli")
+        for (String prefix : new String[] { "fl", "fli", "s" }) {
+            List<String> expected = new ArrayList<>();
+            for (String word : engine.wordsMatchingPrefix(prefix)) {
+                if (word.endsWith("ight")) {
+                    expected.add(word);
+                }
+            }
+            Page<String> both = engine.wordsMatchingPrefixAndSuffix(prefix, "ight", 0, 100);
+            assertEquals(expected, both.getItems(), prefix);
+            assertEquals(expected.size(), both.getTotal(), prefix);
+        }
+        assertEquals(Arrays.asList("a"), engine.wordsMatchingPrefixAndSuffix("a", "a", 0, 100).getItems().subList(0, 1), "overlap");
+    }
+
+    @Test
+    void givenFragments_whenWordsContaining_thenSameAsScan() {
+        List<String> all = engine.wildcardSearch("*", 0, 100000).getItems();
+        for (String fragment : new String[] { "ough", "OUGH", "ana", "anana", "ssiss", "q", "zz", "xqz", "abcdefghij" }) {
+            String normalised = fragment.toLowerCase();
+            List<String> expected = new ArrayList<>();
+            for (String word : all) {
+                if (word.contains(normalised)) {
+                    expected.add(word);
+                }
+            }
+            Page<String> page = engine.wordsContaining(fragment, 0, all.size());
+            assertEquals(expected, page.getItems(), fragment);
+            assertEquals(expected.size(), page.getTotal(), fragment);
+        }
+        assertEquals(131, engine.wordsContaining("ough", 0, 10).getTotal(), "total");
+        assertEquals(engine.wordsContaining("ough", 0, 100).getItems().subList(20, 30),
+                engine.wordsContaining("ough", 20, 10).getItems(), "slice");
+        assertEquals(0, engine.wordsContaining("ou-gh", 0, 10).getTotal(), "non letter");
+    }
+
+    @Test
+    void givenLetters_whenAnagramsOf_thenExactAnagrams() {
+        assertEquals(Arrays.asList("least", "slate", "stale", "steal", "tales", "teals"), engine.anagramsOf(" TESLA "));
+        assertEquals(Arrays.asList("tomato"), engine.anagramsOf("ottoma"), "single");
+        assertTrue(engine.anagramsOf("qqq").isEmpty(), "none");
+        assertTrue(engine.anagramsOf("te-sla").isEmpty(), "non letter");
+
+        Map<String, List<String>> families = engine.anagramFamilies(3);
+        assertEquals(Arrays.asList("aeprs", "aerst", "acerst"), new ArrayList<>(families.keySet()), "largest first");
+        assertEquals(7, families.get("aeprs").size(), "family.size");
+        assertTrue(engine.anagramFamilies(0).isEmpty(), "limit 0");
+    }
+
+    @Test
+    void givenPhrase_whenPhraseAnagrams_thenEachCombinationOnce() {
+        PartialResult<List<String>> result = engine.phraseAnagrams("Dormitory", 2, 3, 10000, Deadline.none());
+        assertTrue(result.isComplete(), "complete");
+        assertTrue(result.getValue().contains("dormitory"), "single word");
+        assertTrue(result.getValue().contains("dirty room"), "two words");
+        assertFalse(result.getValue().contains("room dirty"), "one ordering only");
+        assertEquals(result.getValue().size(), new HashSet<>(result.getValue()).size(), "no duplicates");
+        for (String phrase : result.getValue()) {
+            String[] words = phrase.split(" ");
+            assertTrue(words.length <= 2, phrase);
+            assertEquals("dimoorrty", AnagramIndex.signatureOf(phrase.replace(" ", "")), phrase);
+            for (String word : words) {
+                assertTrue(word.length() >= 3 && engine.exists(word), phrase);
+            }
+        }
+
+        PartialResult<List<String>> capped = engine.phraseAnagrams("dormitory", 3, 2, 5, Deadline.none());
+        assertFalse(capped.isComplete(), "capped");
+        assertEquals(5, capped.getValue().size(), "capped.size");
+        assertFalse(engine.phraseAnagrams("dormitory", 3, 1, 10000, Deadline.after(0, TimeUnit.MILLISECONDS)).isComplete(), "expired");
+        assertTrue(engine.phraseAnagrams("dorm1tory", 2, 3, 10, Deadline.none()).getValue().isEmpty(), "non letter");
+    }
+
+    @Test
+    void givenRackWithBlanks_whenScoredSubWords_thenBestFirst() {
+        int[] values = JumbleEngine.defaultLetterValues();
+        List<ScoredWord> words = engine.scoredSubWords("JETY_", 2, values, 5);
+        assertEquals(5, words.size(), "limit");
+        for (int ix = 1; ix < words.size(); ix += 1) {
+            assertTrue(words.get(ix - 1).getScore() >= words.get(ix).getScore(), "highest first");
+        }
+        ScoredWord top = words.get(0);
+        int expected = 0;
+        for (char c : top.getWord().toCharArray()) {
+            expected += values[c - 'a'];
+        }
+        for (char c : top.getBlanks().toCharArray()) {
+            expected -= values[c - 'a'];
+        }
+        assertEquals(expected, top.getScore(), top.toString());
+        assertTrue(top.getBlanks().length() <= 1, top.toString());
+
+        // without blanks, the words are the sub words of the rack
+        List<ScoredWord> exact = engine.scoredSubWords("yellow", 3, values, 1000);
+        List<String> spelt = new ArrayList<>();
+        for (ScoredWord word : exact) {
+            assertEquals("", word.getBlanks(), word.toString());
+            spelt.add(word.getWord());
+        }
+        Set<String> subWords = new HashSet<>(engine.generateSubWords("yellow", 3));
+        subWords.add("yellow");
+        assertEquals(subWords, new HashSet<>(spelt), "sub words and the word itself");
+
+        List<ScoredWord> blanked = engine.scoredSubWords("oo?", 3, values, 100);
+        int zoo = toWords(blanked).indexOf("zoo");
+        assertTrue(zoo >= 0, "zoo");
+        assertEquals("z", blanked.get(zoo).getBlanks(), "zoo.blanks");
+        assertEquals(2, blanked.get(zoo).getScore(), "zoo.score");
+        assertTrue(engine.scoredSubWords("ab1", 2, values, 5).isEmpty(), "invalid tile");
+        assertThrows(IllegalArgumentException.class, () -> engine.scoredSubWords("abc", 2, new int[3], 5));
+    }
+
+    @Test
+    void givenGrid_whenSolveGrid_thenWordsTraceable() {
+        String grid = "tape"
+                + "oles"
+                + "rnid"
+                + "gaum";
+        List<String> words = engine.solveGrid(grid, 4, 3);
+        assertFalse(words.isEmpty(), "words");
+        assertEquals(new ArrayList<>(new TreeSet<>(words)), words, "dictionary order");
+        for (String word : words) {
+            assertTrue(word.length() >= 3 && engine.exists(word), word);
+            assertTrue(isTraceable(grid, 4, word), word);
+        }
+        // exhaustive: every dictionary word traceable in the grid is found
+        Set<String> found = new HashSet<>(words);
+        for (String word : engine.generateSubWords(grid, 3)) {
+            assertEquals(isTraceable(grid, 4, word), found.contains(word), word);
+        }
+        assertTrue(words.contains("tape"), "tape");
+        assertTrue(words.contains("tapes"), "tapes");
+        assertFalse(words.contains("tat"), "tat, a cell used twice");
+        assertEquals(engine.solveGrid(grid.toUpperCase(), 4, 3), words, "case insensitive");
+        assertTrue(engine.solveGrid("abc", 4, 3).isEmpty(), "too few cells");
+        assertTrue(engine.solveGrid(grid, JumbleEngine.MAX_GRID_SIZE + 1, 3).isEmpty(), "too large");
+    }
+
+    @Test
+    void givenSizeAndTarget_whenGenerateGrid_thenCloseToTarget() {
+        for (int size = 5; size <= 6; size += 1) {
+            String grid = engine.generateGrid(size, 100, 3);
+            assertEquals(size * size, grid.length(), "size=" + size);
+            assertTrue(grid.chars().allMatch(c -> c >= 'a' && c <= 'z'), grid);
+            assertFalse(engine.solveGrid(grid, size, 3).isEmpty(), grid);
+        }
+
+        GameState gameState = engine.createGridGameState(5, 60, 3);
+        assertTrue(gameState.isGrid(), "isGrid");
+        assertEquals(5, gameState.getGridRows().size(), "rows");
+        assertEquals(gameState.getOriginal(), String.join("", gameState.getGridRows()), "rows");
+        assertEquals(engine.solveGrid(gameState.getOriginal(), 5, 3),
+                new ArrayList<>(new TreeSet<>(gameState.getSubWords().keySet())), "subWords");
+        assertThrows(IllegalArgumentException.class, () -> engine.generateGrid(2, 10, 3));
+    }
+
+    @Test
+    void givenTwoWords_whenWordLadder_thenShortestChain() {
+        String[][] pairs = { { "cold", "warm" }, { "head", "tail" }, { "lead", "gold" }, { "ape", "man" }, { "cat", "cat" } };
+        for (String[] pair : pairs) {
+            List<String> ladder = engine.wordLadder(pair[0], pair[1]);
+            assertEquals(pair[0], ladder.get(0), Arrays.toString(pair));
+            assertEquals(pair[1], ladder.get(ladder.size() - 1), Arrays.toString(pair));
+            for (int ix = 1; ix < ladder.size(); ix += 1) {
+                assertTrue(engine.exists(ladder.get(ix)), ladder.toString());
+                assertEquals(1, differences(ladder.get(ix - 1), ladder.get(ix)), ladder.toString());
+            }
+            assertEquals(ladderLength(pair[0], pair[1]), ladder.size(), Arrays.toString(pair));
+        }
+        assertEquals(Arrays.asList("cold", "cord", "word", "worm", "warm"), engine.wordLadder("COLD", "warm"));
+        assertTrue(engine.wordLadder("cold", "warmer").isEmpty(), "length differs");
+        assertTrue(engine.wordLadder("cold", "wxrm").isEmpty(), "not a word");
+        assertTrue(engine.wordLadder(null, "warm").isEmpty(), "null");
+    }
+
+    private static int differences(String a, String b) {
+        int count = 0;
+        for (int ix = 0; ix < a.length(); ix += 1) {
+            count += a.charAt(ix) == b.charAt(ix) ? 0 : 1;
+        }
+        return count;
+    }
+
+    /*
+     * Plain breadth first search, trying every letter at every position.
+     */
+    private int ladderLength(String from, String to) {
+        char[] pattern = new char[from.length()];
+        Arrays.fill(pattern, '?');
+        Set<String> words = new HashSet<>(engine.wildcardSearch(new String(pattern), 0, 100000).getItems());
+        Map<String, Integer> steps = new HashMap<>();
+        List<String> queue = new ArrayList<>();
+        steps.put(from, 1);
+        queue.add(from);
+        for (int head = 0; head < queue.size(); head += 1) {
+            String word = queue.get(head);
+            if (word.equals(to)) {
+                return steps.get(word);
+            }
+            for (int pos = 0; pos < word.length(); pos += 1) {
+                for (char c = 'a'; c <= 'z'; c += 1) {
+                    String next = word.substring(0, pos) + c + word.substring(pos + 1);
+                    if (!steps.containsKey(next) && words.contains(next)) {
+                        steps.put(next, steps.get(word) + 1);
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    /*
+     * Brute force: whether `word` is a path of adjacent, distinct cells.
+     */
+    private static boolean isTraceable(String grid, int size, String word) {
+        for (int cell = 0; cell < grid.length(); cell += 1) {
+            if (isTraceable(grid, size, word, 0, cell, new boolean[grid.length()])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTraceable(String grid, int size, String word, int pos, int cell, boolean[] used) {
+        if (used[cell] || grid.charAt(cell) != word.charAt(pos)) {
+            return false;
+        }
+        if (pos == word.length() - 1) {
+            return true;
+        }
+        used[cell] = true;
+        for (int next = 0; next < grid.length(); next += 1) {
+            boolean adjacent = Math.abs(next / size - cell / size) <= 1 && Math.abs(next % size - cell % size) <= 1;
+            if (adjacent && isTraceable(grid, size, word, pos + 1, next, used)) {
+                used[cell] = false;
+                return true;
+            }
+        }
+        used[cell] = false;
+        return false;
+    }
+
+    private static List<String> toWords(List<ScoredWord> scored) {
+        List<String> words = new ArrayList<>();
+        for (ScoredWord word : scored) {
+            words.add(word.getWord());
+        }
+        return words;
+    }
+
 }
@@ -0,0 +1,68 @@
+package asia.fourtitude.interviewq.jumble.core.words;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class WordsRepositoryTest {
+
+    private static final String WORDS = "cold\ncord\ncard\nward\nwarm\nword\nworm\nlevel\n";
+
+    @Test
+    void givenSameWords_whenGetVersion_thenSameVersion() {
+        String version = new WordsRepository(new StringReader(WORDS)).getVersion();
+        assertEquals(8, version.length());
+        assertEquals(version, new WordsRepository(new StringReader("worm\n" + WORDS)).getVersion(), "duplicates merged");
+        assertNotEquals(version, new WordsRepository(new StringReader(WORDS + "wore\n")).getVersion());
+        assertNotEquals(version, new WordsRepository(new StringReader(WORDS + "cold 5\n")).getVersion(), "weight");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenDictionary_whenGetFootprint_thenEveryStructureEstimated() {
+        WordsRepository repository = new WordsRepository(new StringReader(WORDS));
+        Map<String, Object> footprint = repository.getFootprint();
+        assertEquals(8, footprint.get("words"));
+        List<Map<String, Object>> structures = (List<Map<String, Object>>) footprint.get("structures");
+        long total = 0;
+        for (Map<String, Object> structure : structures) {
+            long bytes = (Long) structure.get("bytes");
+            assertTrue(bytes > 0, structure.get("name") + " bytes");
+            total += bytes;
+        }
+        assertEquals(total, footprint.get("total_bytes"));
+        assertEquals(8, structures.size());
+        assertTrue(structures.stream().filter(s -> !"ladder".equals(s.get("name"))).allMatch(s -> s.containsKey("build_ms")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenLadders_whenGetFootprint_thenCacheCounted() {
+        WordsRepository repository = new WordsRepository(new StringReader(WORDS));
+        LadderIndex ladderIndex = repository.getLadderIndex();
+        long emptyBytes = ladderIndex.estimatedBytes();
+        ladderIndex.shortestPath(repository.idOf("cold"), repository.idOf("warm"));
+        ladderIndex.shortestPath(repository.idOf("card"), repository.idOf("worm"));
+        ladderIndex.shortestPath(repository.idOf("cold"), repository.idOf("level"));
+        Map<String, Object> ladder = (Map<String, Object>) ((Map<String, Object>) repository.getFootprint()
+                .get("caches")).get("ladder");
+        assertEquals(1, ladder.get("entries"));
+        assertEquals(1L, ladder.get("hits"));
+        assertEquals(1L, ladder.get("misses"));
+        assertTrue(ladderIndex.estimatedBytes() > emptyBytes);
+    }
+
+    @Test
+    void givenArrays_whenEstimate_thenAligned() {
+        assertEquals(0, Footprint.of(new int[0]), "shared empty");
+        assertEquals(24, Footprint.of(new int[1]));
+        assertEquals(56, Footprint.of(new long[5]));
+        assertEquals(16, Footprint.ofObject(1, 0));
+        assertEquals(24 + 24 + 24, Footprint.of(new int[][] { { 1 }, { 2 } }));
+    }
+
+}
@@ -0,0 +1,304 @@
+package asia.fourtitude.interviewq.jumble.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessOutput;
+
+/**
+ * Load test of the game API on one node: boots the application on a random
+ * port and drives a mixed workload of new games, correct guesses (sub words
+ * of the game's own word), wrong guesses and autocomplete.
+ *
+ * <p>Requests are issued at a constant arrival rate (open model): each has
+ * an intended start time, and its latency is measured from that time, not
+ * from when a worker got to send it. A slow server thus shows as latency
+ * instead of silently lowering the offered load (coordinated omission).
+ *
+ * <p>Only runs with {@code -Ploadtest}; tuned by the system properties
+ * {@code loadtest.rate} (requests per second), {@code loadtest.duration-seconds},
+ * {@code loadtest.warmup-seconds} and {@code loadtest.threads}. Writes an
+ * HdrHistogram percentile distribution per operation, and a summary, to
+ * {@code target/loadtest}.
+ */
+@Tag("loadtest")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                // one load generator is one client: measure capacity, not the per-client limit
+                "jumble.admission.enabled=false",
+                "logging.level.asia.fourtitude.interviewq.jumble=INFO" })
+class GameApiLoadTest {
+
+    private static final ObjectMapper OM = new ObjectMapper();
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    enum Operation {
+        NEW_GAME(10),
+        CORRECT_GUESS(50),
+        WRONG_GUESS(15),
+        AUTOCOMPLETE(25);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JumbleEngine jumbleEngine;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    /*
+     * Games still having answers to guess; a game is taken out while guessed on.
+     */
+    private final Queue<Game> games = new ConcurrentLinkedQueue<>();
+
+    private final List<String> prefixes = new ArrayList<>();
+
+    @Test
+    void givenOpenModelWorkload_whenRun_thenReportLatencies() throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 100);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int threads = Integer.getInteger("loadtest.threads", 64);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+        for (int ix = 0; ix < 200; ix += 1) {
+            String word = jumbleEngine.pickOneRandomWord(null);
+            prefixes.add(word.substring(0, Math.min(3, word.length())));
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long scheduled = intended;
+            workers.execute(() -> execute(pickOperation(), scheduled, scheduled >= measureFrom));
+        }
+        workers.shutdown();
+        assertTrue(workers.awaitTermination(5, TimeUnit.MINUTES), "workers terminated");
+
+        long totalErrors = report(rate, durationSeconds, new File("target/loadtest"));
+        assertEquals(0, totalErrors, "errors");
+    }
+
+    private static Operation pickOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(100);
+        for (Operation operation : Operation.values()) {
+            pick -= operation.weight;
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        return Operation.AUTOCOMPLETE;
+    }
+
+    private void execute(Operation operation, long intended, boolean measured) {
+        Game game = null;
+        if (operation == Operation.CORRECT_GUESS || operation == Operation.WRONG_GUESS) {
+            game = games.poll();
+            if (game == null) {
+                operation = Operation.NEW_GAME;
+            }
+        }
+        boolean ok;
+        try {
+            switch (operation) {
+            case NEW_GAME:
+                ok = newGame();
+                break;
+            case CORRECT_GUESS:
+                ok = guess(game, game.answers.pop(), "Guessed correctly.", "All words guessed.");
+                break;
+            case WRONG_GUESS:
+                ok = guess(game, game.word + "q", "Guessed incorrectly.", null);
+                break;
+            default:
+                String prefix = prefixes.get(ThreadLocalRandom.current().nextInt(prefixes.size()));
+                ok = send("GET", "/api/word/" + prefix + "?limit=10", null).status == 200;
+                break;
+            }
+        } catch (IOException e) {
+            ok = false;
+        }
+        if (game != null && !game.answers.isEmpty()) {
+            games.offer(game);
+        }
+        if (measured) {
+            histograms.get(operation).recordValue(Math.min(System.nanoTime() - intended, MAX_LATENCY_NANOS));
+            if (!ok) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private boolean newGame() throws IOException {
+        Response response = send("GET", "/api/game/new", null);
+        if (response.status != 200) {
+            return false;
+        }
+        GameGuessOutput output = OM.readValue(response.body, GameGuessOutput.class);
+        // the answers are worked out after the response, off the request being timed
+        Deque<String> answers = new ArrayDeque<>(jumbleEngine.generateSubWords(output.getOriginalWord(), 3));
+        if (!answers.isEmpty()) {
+            games.offer(new Game(output.getId(), output.getOriginalWord(), answers));
+        }
+        return true;
+    }
+
+    private boolean guess(Game game, String word, String expected, String orExpected) throws IOException {
+        GameGuessInput input = new GameGuessInput();
+        input.setId(game.id);
+        input.setWord(word);
+        Response response = send("POST", "/api/game/guess", OM.writeValueAsBytes(input));
+        if (response.status != 200) {
+            return false;
+        }
+        String result = OM.readValue(response.body, GameGuessOutput.class).getResult();
+        return expected.equals(result) || result.equals(orExpected);
+    }
+
+    private Response send(String method, String path, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Accept", "application/json");
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream os = connection.getOutputStream()) {
+                os.write(body);
+            }
+        }
+        int status = connection.getResponseCode();
+        // read the body fully, so the connection is kept alive for reuse
+        try (InputStream is = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            if (is != null) {
+                byte[] buffer = new byte[4096];
+                for (int read; (read = is.read(buffer)) >= 0;) {
+                    bytes.write(buffer, 0, read);
+                }
+            }
+            return new Response(status, bytes.toByteArray());
+        }
+    }
+
+    /*
+     * Writes `<operation>.hgrm` (latencies in milliseconds) and summary.txt;
+     * returns the number of errors.
+     */
+    private long report(int rate, int durationSeconds, File dir) throws IOException {
+        assertTrue(dir.isDirectory() || dir.mkdirs(), "report dir " + dir);
+        long totalErrors = 0;
+        try (PrintStream summary = new PrintStream(new FileOutputStream(new File(dir, "summary.txt")), true, "UTF-8")) {
+            summary.printf("offered rate: %d req/s, measured for %d s%n", rate, durationSeconds);
+            summary.printf("%-14s %9s %7s %9s %9s %9s %9s %9s%n",
+                    "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = histograms.get(operation);
+                long count = histogram.getTotalCount();
+                long failed = errors.get(operation).sum();
+                totalErrors += failed;
+                summary.printf("%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        operation.name().toLowerCase(), count, failed, (double) count / durationSeconds,
+                        millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+                try (PrintStream hgrm = new PrintStream(
+                        new FileOutputStream(new File(dir, operation.name().toLowerCase() + ".hgrm")), true, "UTF-8")) {
+                    histogram.outputPercentileDistribution(hgrm, 1_000_000.0);
+                }
+            }
+        }
+        System.out.println(new String(Files.readAllBytes(new File(dir, "summary.txt").toPath()),
+                StandardCharsets.UTF_8));
+        return totalErrors;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Game {
+
+        private final String id;
+
+        private final String word;
+
+        private final Deque<String> answers;
+
+        Game(String id, String word, Deque<String> answers) {
+            this.id = id;
+            this.word = word;
+            this.answers = answers;
+        }
+
+    }
+
+    private static final class Response {
+
+        private final int status;
+
+        private final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JumbleEngine jumbleEngine;
+
+    @Test
+    void givenEngineCalls_whenGetMetrics_thenOperationsTimed() throws Exception {
+        jumbleEngine.scramble("ranker");
+        jumbleEngine.exists("ranker");
+        this.mockMvc.perform(get("/actuator/metrics/" + EngineMetricsAspect.TIMER)
+                        .param("tag", "operation:scramble")
+                        .param("tag", "outcome:success"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value", contains(greaterThanOrEqualTo(1.0))));
+        this.mockMvc.perform(get("/actuator/metrics/" + EngineMetricsAspect.TIMER + ".percentile")
+                        .param("tag", "operation:exists")
+                        .param("tag", "phi:0.99"))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/actuator/metrics/jumble.dictionary.size"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value", greaterThan(60000.0)));
+    }
+
+    @Test
+    void givenGuess_whenGetMetrics_thenOutcomeCounted() throws Exception {
+        this.mockMvc.perform(post("/api/game/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"not-a-uuid\", \"word\": \"rank\"}"))
+                .andExpect(status().isNotFound());
+        this.mockMvc.perform(get("/actuator/metrics/" + GameMetrics.GUESSES)
+                        .param("tag", "outcome:not-found"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value", greaterThanOrEqualTo(1.0)));
+        this.mockMvc.perform(get("/actuator/metrics/" + GameMetrics.TIMER)
+                        .param("tag", "action:guess"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value", contains(greaterThanOrEqualTo(1.0))));
+        this.mockMvc.perform(get("/actuator/metrics/" + GameMetrics.LIVE_GAMES))
+                .andExpect(status().isOk());
+    }
+
+}
@@ -0,0 +1,105 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = {
+        // record every call
+        "jumble.slow-log.threshold-ms=0",
+        "jumble.slow-log.dump-dir=target/slow-operations",
+        "jumble.slow-log.max-dump-files=2" })
+@AutoConfigureMockMvc
+class SlowOperationEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenCalls_whenGetSlowOperations_thenInputsAndSizesRecorded() throws Exception {
+        this.mockMvc.perform(get("/api/word/ranke").param("limit", "5"))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/admin/slow-operations").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.threshold_ms").value(0))
+                .andExpect(jsonPath("$.operations[?(@.operation == 'JumbleEngine.topWordsMatchingPrefix')].arguments[0]",
+                        hasItem("ranke")))
+                .andExpect(jsonPath("$.operations[?(@.operation == 'JumbleEngine.topWordsMatchingPrefix')].result_size",
+                        hasItem(greaterThan(0))))
+                .andExpect(jsonPath("$.operations[?(@.operation == 'WordApiController.autoComplete')].thread", not(empty())));
+        this.mockMvc.perform(get("/api/admin/slow-operations").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenDumpSlowOperations_thenWrittenToFile() throws Exception {
+        this.mockMvc.perform(get("/api/word/ranke"))
+                .andExpect(status().isOk());
+        MvcResult result = this.mockMvc.perform(post("/api/admin/slow-operations/dump"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode output = objectMapper.readTree(result.getResponse().getContentAsString());
+        File file = new File(output.get("file").asText());
+        assertTrue(file.isFile(), "dump " + file);
+        JsonNode dump = objectMapper.readTree(file);
+        assertEquals(output.get("operations").asInt(), dump.get("operations").size());
+        assertTrue(dump.get("operations").size() > 0);
+        assertTrue(file.delete());
+    }
+
+    @Test
+    void givenManyDumps_whenDumpSlowOperations_thenNewestKept() throws Exception {
+        File directory = new File("target/slow-operations");
+        List<String> written = new ArrayList<>();
+        // back to back, several within the same millisecond
+        for (int ix = 0; ix < 4; ix += 1) {
+            MvcResult result = this.mockMvc.perform(post("/api/admin/slow-operations/dump"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            written.add(objectMapper.readTree(result.getResponse().getContentAsString()).get("file").asText());
+        }
+        assertEquals(4, new HashSet<>(written).size(), "distinct dumps");
+        File[] dumps = directory.listFiles((dir, name) -> name.startsWith("slow-operations-"));
+        assertNotNull(dumps);
+        assertEquals(2, dumps.length, "dumps kept");
+        for (String file : written.subList(2, 4)) {
+            assertTrue(new File(file).delete(), "newest kept " + file);
+        }
+    }
+
+    @Test
+    void givenGameGuess_whenGetSlowOperations_thenGameIdNotRecorded() throws Exception {
+        MvcResult game = this.mockMvc.perform(get("/api/game/new"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String id = objectMapper.readTree(game.getResponse().getContentAsString()).get("id").asText();
+        this.mockMvc.perform(post("/api/game/guess").contentType("application/json")
+                .content("{\"id\":\"" + id + "\",\"word\":\"zzz\"}"))
+                .andExpect(status().isOk());
+        String operations = this.mockMvc.perform(get("/api/admin/slow-operations").param("limit", "256"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(operations.contains("GameGuessInput"), "guess recorded");
+        assertFalse(operations.contains(id), "game id recorded");
+    }
+
+}
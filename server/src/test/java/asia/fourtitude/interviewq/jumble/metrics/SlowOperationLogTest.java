@@ -0,0 +1,94 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.Page;
+import asia.fourtitude.interviewq.jumble.core.PartialResult;
+import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
+
+class SlowOperationLogTest {
+
+    @Test
+    void givenThreshold_whenIsSlow_thenComparedToDuration() {
+        SlowOperationLog log = new SlowOperationLog(50, 4);
+        assertFalse(log.isSlow(TimeUnit.MILLISECONDS.toNanos(49)));
+        assertTrue(log.isSlow(TimeUnit.MILLISECONDS.toNanos(50)));
+    }
+
+    @Test
+    void givenMoreThanCapacity_whenSnapshot_thenLatestNewestFirst() {
+        SlowOperationLog log = new SlowOperationLog(0, 4);
+        for (int ix = 0; ix < 10; ix += 1) {
+            log.record("JumbleEngine.op" + ix, 1000, Collections.singletonList("arg" + ix), ix, null);
+        }
+        List<SlowOperation> entries = log.snapshot(100);
+        assertEquals(4, entries.size());
+        assertEquals("JumbleEngine.op9", entries.get(0).getOperation());
+        assertEquals("JumbleEngine.op6", entries.get(3).getOperation());
+        assertEquals(Collections.singletonList("arg9"), entries.get(0).getArguments());
+        assertEquals(2, log.snapshot(2).size());
+        assertEquals(10, log.getRecorded());
+    }
+
+    @Test
+    void givenConcurrentWriters_whenSnapshot_thenEveryEntryOnce() throws Exception {
+        SlowOperationLog log = new SlowOperationLog(0, 1024);
+        int threads = 8;
+        int perThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t += 1) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int ix = 0; ix < perThread; ix += 1) {
+                    log.record("op", 1000, Collections.emptyList(), null, null);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Set<Long> sequences = new HashSet<>();
+        for (SlowOperation entry : log.snapshot(Integer.MAX_VALUE)) {
+            assertTrue(sequences.add(entry.getSequence()), "once " + entry.getSequence());
+        }
+        assertEquals(threads * perThread, sequences.size());
+    }
+
+    @Test
+    void givenResults_whenSizeOf_thenItemsCounted() {
+        assertEquals(3, SlowOperationAspect.sizeOf(Arrays.asList("a", "b", "c")));
+        assertEquals(2, SlowOperationAspect.sizeOf(PartialResult.partial(new Page<>(Arrays.asList("a", "b"), 0, 2, 10))));
+        assertNull(SlowOperationAspect.sizeOf("word"));
+        String longWord = new String(new char[500]).replace('\0', 'a');
+        assertEquals(SlowOperationAspect.MAX_ARGUMENT_LENGTH + 3, SlowOperationAspect.describe(longWord).length());
+        assertEquals("Object", SlowOperationAspect.describe(new Object()));
+    }
+
+    @Test
+    void givenGameTypes_whenDescribe_thenClassNameOnly() {
+        GameGuessInput input = new GameGuessInput();
+        input.setId("6f1c1b8e-3d0f-4a51-9a4e-1c2d3e4f5a6b");
+        input.setWord("ranker");
+        assertEquals("GameGuessInput", SlowOperationAspect.describe(input));
+        assertEquals("GameState", SlowOperationAspect.describe(new GameState("ranker", "kerran", Collections.singletonMap("rank", false))));
+    }
+
+}
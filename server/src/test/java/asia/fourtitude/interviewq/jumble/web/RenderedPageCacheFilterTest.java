@@ -0,0 +1,126 @@
+package asia.fourtitude.interviewq.jumble.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.servlet.http.Cookie;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RenderedPageCacheFilterTest {
+
+    /*
+     * Renders "<p>help</p>", after `onRequest` and `onResponse`; counts the renders.
+     */
+    private static HttpServlet servlet(AtomicInteger renders, Consumer<HttpServletRequest> onRequest,
+            Consumer<HttpServletResponse> onResponse) {
+        return new HttpServlet() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                renders.incrementAndGet();
+                onRequest.accept(req);
+                onResponse.accept(resp);
+                resp.setContentType("text/html;charset=UTF-8");
+                resp.getWriter().write("<p>help</p>");
+            }
+        };
+    }
+
+    private static MockHttpServletResponse get(RenderedPageCacheFilter filter, HttpServlet servlet) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/game/help"), response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    @Test
+    void givenCachedPath_whenGetTwice_thenRenderOnce() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                renders.incrementAndGet();
+                resp.setContentType("text/html;charset=UTF-8");
+                resp.getWriter().write("<p>help</p>");
+            }
+        };
+        RenderedPageCacheFilter filter = new RenderedPageCacheFilter(Collections.singleton("/game/help"));
+
+        for (int ix = 0; ix < 2; ix += 1) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/game/help"), response, new MockFilterChain(servlet));
+            assertEquals("<p>help</p>", response.getContentAsString(), "body#" + ix);
+            assertEquals("text/html;charset=UTF-8", response.getContentType(), "contentType#" + ix);
+        }
+        assertEquals(1, renders.get(), "renders");
+        assertEquals(1L, filter.getStats().get("hits"), "hits");
+
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/game/new"), other, new MockFilterChain(servlet));
+        assertEquals(2, renders.get(), "renders.uncachedPath");
+    }
+
+    @Test
+    void givenRenderingSetsHeaders_whenHit_thenReplayHeaders() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        HttpServlet servlet = servlet(renders, req -> {
+        }, resp -> {
+            resp.setLocale(Locale.FRENCH);
+            resp.setHeader("Cache-Control", "max-age=60");
+            resp.addHeader("Vary", "Accept");
+            resp.addHeader("Vary", "Accept-Encoding");
+        });
+        RenderedPageCacheFilter filter = new RenderedPageCacheFilter(Collections.singleton("/game/help"));
+
+        get(filter, servlet);
+        MockHttpServletResponse hit = get(filter, servlet);
+        assertEquals(1, renders.get(), "renders");
+        assertEquals("<p>help</p>", hit.getContentAsString(), "body");
+        assertEquals("max-age=60", hit.getHeader("Cache-Control"), "Cache-Control");
+        assertEquals(2, hit.getHeaders("Vary").size(), "Vary");
+        assertEquals("fr", hit.getHeader("Content-Language"), "Content-Language");
+        assertEquals("text/html;charset=UTF-8", hit.getContentType(), "contentType");
+    }
+
+    @Test
+    void givenRenderingCreatesSession_whenGetTwice_thenRenderTwice() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        HttpServlet servlet = servlet(renders, req -> req.getSession(true), resp -> {
+        });
+        RenderedPageCacheFilter filter = new RenderedPageCacheFilter(Collections.singleton("/game/help"));
+
+        get(filter, servlet);
+        get(filter, servlet);
+        assertEquals(2, renders.get(), "renders");
+        assertEquals(0, filter.getStats().get("entries"), "entries");
+    }
+
+    @Test
+    void givenRenderingSetsCookie_whenGetTwice_thenRenderTwice() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        HttpServlet servlet = servlet(renders, req -> {
+        }, resp -> resp.addCookie(new Cookie("visitor", "42")));
+        RenderedPageCacheFilter filter = new RenderedPageCacheFilter(Collections.singleton("/game/help"));
+
+        get(filter, servlet);
+        MockHttpServletResponse second = get(filter, servlet);
+        assertEquals(2, renders.get(), "renders");
+        assertNotNull(second.getCookie("visitor"), "cookie");
+    }
+
+}